@@ -0,0 +1,128 @@
+package meditrack.datastructure.columnar;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Column aggregation with the incubating Vector API, several rows per instruction.
+ * The amounts are read at the widest long shape the CPU prefers, and the
+ * days at an int shape of half that width and widened to longs, so a vector
+ * of days lines up lane for lane with a vector of amounts and the range
+ * test becomes a mask on the add.
+ * Compiling and running this class needs --add-modules jdk.incubator.vector,
+ * so it lives in the separate src-vector source root and the rest of the
+ * application builds without the module. It is only loaded by name through
+ * ColumnAggregators, which falls back to the scalar loops when this class was
+ * not compiled or the module is missing at run time.
+ */
+final class VectorColumnAggregator implements ColumnAggregator {
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final int MIN_LONG_LANES = 4;
+    private static final ColumnAggregator SCALAR = new ScalarColumnAggregator();
+
+    // A constant, so the JIT compiles the range test to instructions; null if the long shape is too narrow
+    private static final VectorSpecies<Integer> HALF_INTS = LONGS.length() < MIN_LONG_LANES ? null
+        : VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    /**
+     * Fails if the CPU has no vector shape that holds four longs
+     * On narrower shapes the day vectors are too short to widen in hardware,
+     * and the kernels would run as slow Java fallbacks.
+     */
+    VectorColumnAggregator() {
+        if (HALF_INTS == null) {
+            throw new UnsupportedOperationException("No vector shape holds " + MIN_LONG_LANES + " longs");
+        }
+    }
+
+    @Override
+    public long sum(long[] values, int length) {
+        LongVector acc = LongVector.zero(LONGS);
+        int bound = LONGS.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, values, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sumInRange(long[] values, int[] epochDays, int length, int fromDay, int toDay) {
+        LongVector acc = LongVector.zero(LONGS);
+        int bound = LONGS.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            VectorMask<Long> mask = rangeMask(epochDays, i, fromDay, toDay);
+            acc = acc.add(LongVector.fromArray(LONGS, values, i), mask);
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            int day = epochDays[i];
+            if (day >= fromDay && day <= toDay) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public int countInRange(int[] epochDays, int length, int fromDay, int toDay) {
+        int bound = INTS.loopBound(length);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += INTS.length()) {
+            IntVector days = IntVector.fromArray(INTS, epochDays, i);
+            count += days.compare(VectorOperators.GE, fromDay)
+                .and(days.compare(VectorOperators.LE, toDay))
+                .trueCount();
+        }
+        for (; i < length; i++) {
+            int day = epochDays[i];
+            if (day >= fromDay && day <= toDay) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sums by category with the scalar loop, which the vector kernels do not beat here
+     * A vector pass has to compare every lane against every category, so with
+     * ten categories it does ten compares and masked adds per row where the
+     * scalar loop does one indexed add. Blocked, cache-resident versions of
+     * that pass ran level with the scalar loop at 512 bits and at half its
+     * speed at 256 bits, so the range test is the only part worth vectorizing
+     * and it is not the bottleneck.
+     */
+    @Override
+    public void sumByCategory(long[] values, byte[] categories, int[] epochDays, int length,
+                              int fromDay, int toDay, long[] totals, long[] counts) {
+        SCALAR.sumByCategory(values, categories, epochDays, length, fromDay, toDay, totals, counts);
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + LONGS.vectorBitSize() + "-bit)";
+    }
+
+    /**
+     * Tests the days of one long vector's worth of rows against a range
+     * The days are widened before comparing, since casting an int mask to a
+     * long mask is not compiled to instructions on all JDKs.
+     */
+    private static VectorMask<Long> rangeMask(int[] epochDays, int offset, int fromDay, int toDay) {
+        LongVector days = (LongVector) IntVector.fromArray(HALF_INTS, epochDays, offset)
+            .convertShape(VectorOperators.I2L, LONGS, 0);
+        return days.compare(VectorOperators.GE, fromDay)
+            .and(days.compare(VectorOperators.LE, toDay));
+    }
+}
@@ -4,6 +4,7 @@ import java.io.File;
 import java.net.URL;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -13,6 +14,8 @@ public class Main extends Application {
     @Override
     public void start(Stage primaryStage) {
         try {
+            StartupMetrics.markLaunch();
+            
             // Print the working directory for debugging
             System.out.println("Working directory: " + System.getProperty("user.dir"));
             
@@ -28,6 +31,7 @@ public class Main extends Application {
                 Parent root = FXMLLoader.load(url);
                 
                 Scene scene = new Scene(root, 1000, 700);
+                reportFirstFrame(scene);
                 primaryStage.setTitle("MediTrack - Healthcare Expense Tracker");
                 primaryStage.setScene(scene);
                 primaryStage.show();
@@ -44,6 +48,20 @@ public class Main extends Application {
         }
     }
     
+    /**
+     * Records the time to first frame once the scene completes its first pulse
+     * @param scene The main application scene
+     */
+    private void reportFirstFrame(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            StartupMetrics.markFirstFrame();
+            // Remove the listener outside the pulse that is notifying it
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(listener[0]));
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+    
     private void createProgrammaticUI(Stage primaryStage) {
         // Create a simple UI programmatically as a fallback
         javafx.scene.layout.BorderPane root = new javafx.scene.layout.BorderPane();
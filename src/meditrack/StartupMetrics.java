@@ -0,0 +1,60 @@
+package meditrack;
+
+/**
+ * Records application startup timings
+ * Time-to-first-frame is measured from launch until the main window is first
+ * rendered, and time-to-interactive until all views have been preloaded
+ */
+public final class StartupMetrics {
+    private static long launchTime = System.nanoTime();
+    private static long firstFrameTime = -1;
+    private static long interactiveTime = -1;
+
+    private StartupMetrics() {
+    }
+
+    /**
+     * Marks the moment the application started launching
+     */
+    public static synchronized void markLaunch() {
+        launchTime = System.nanoTime();
+        firstFrameTime = -1;
+        interactiveTime = -1;
+    }
+
+    /**
+     * Marks the first rendered frame of the main window and reports it
+     */
+    public static synchronized void markFirstFrame() {
+        if (firstFrameTime < 0) {
+            firstFrameTime = System.nanoTime();
+            System.out.println(String.format("Time to first frame: %.2f ms", getTimeToFirstFrameMs()));
+        }
+    }
+
+    /**
+     * Marks the moment all views are loaded and ready, and reports it
+     */
+    public static synchronized void markInteractive() {
+        if (interactiveTime < 0) {
+            interactiveTime = System.nanoTime();
+            System.out.println(String.format("Time to interactive: %.2f ms", getTimeToInteractiveMs()));
+        }
+    }
+
+    /**
+     * Gets the time from launch to the first rendered frame
+     * @return The time in milliseconds, or -1 if no frame has been rendered yet
+     */
+    public static synchronized double getTimeToFirstFrameMs() {
+        return firstFrameTime < 0 ? -1 : (firstFrameTime - launchTime) / 1e6;
+    }
+
+    /**
+     * Gets the time from launch until all views were ready
+     * @return The time in milliseconds, or -1 if startup has not finished yet
+     */
+    public static synchronized double getTimeToInteractiveMs() {
+        return interactiveTime < 0 ? -1 : (interactiveTime - launchTime) / 1e6;
+    }
+}
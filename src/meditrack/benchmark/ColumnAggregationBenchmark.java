@@ -0,0 +1,175 @@
+package meditrack.benchmark;
+
+import meditrack.datastructure.columnar.ColumnAggregator;
+import meditrack.datastructure.columnar.ColumnAggregators;
+import meditrack.datastructure.columnar.ColumnarExpenseStore;
+import meditrack.datastructure.recursion.RecursiveExpenseAnalyzer;
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Compares the expense totals of the RecursiveExpenseAnalyzer list path with the
+ * columnar store's scalar and Vector API kernels
+ * Each row times one aggregation: the total of all expenses, the total of
+ * one year's expenses, and the totals by category. Every path must return
+ * the same result, and the benchmark stops if one does not.
+ * Usage: ColumnAggregationBenchmark [size ...], defaulting to 1,000,000 and 10,000,000 expenses.
+ * Compile src-vector and run with --add-modules jdk.incubator.vector to include
+ * the vector kernels; without them only the list path and the scalar kernels are measured.
+ * Holding 10 million expenses both as objects and as columns needs a heap of
+ * about 4 GB (e.g. -Xmx5g).
+ */
+public class ColumnAggregationBenchmark {
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final LocalDate FIRST_DATE = LocalDate.of(2015, 1, 1);
+    private static final int DAYS = 10 * 365;
+    private static final LocalDate RANGE_START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate RANGE_END = LocalDate.of(2020, 12, 31);
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args) : new int[] {1_000_000, 10_000_000};
+
+        List<ColumnAggregator> aggregators = new ArrayList<>();
+        aggregators.add(ColumnAggregators.scalar());
+        if (ColumnAggregators.vector() != null) {
+            aggregators.add(ColumnAggregators.vector());
+        } else {
+            System.out.println("Vector API not available; compile src-vector and run with"
+                + " --add-modules jdk.incubator.vector to measure it");
+        }
+
+        for (int size : sizes) {
+            List<MedicalExpense> expenses = new ArrayList<>(size);
+            ColumnarExpenseStore store = new ColumnarExpenseStore(size);
+            fill(expenses, store, size, 42);
+
+            System.out.println(String.format("%,d expenses", size));
+            System.out.println("aggregation        path                       time (ms)  speedup");
+
+            measure("total", "analyzer (list)",
+                () -> RecursiveExpenseAnalyzer.calculateTotalExpensesCents(expenses),
+                aggregators, store, () -> store.sumAmountCents(null, null));
+            measure("total in range", "analyzer (list)",
+                () -> RecursiveExpenseAnalyzer.summarizeExpenses(expenses, RANGE_START, RANGE_END).getRangeTotalCents(),
+                aggregators, store, () -> store.sumAmountCents(RANGE_START, RANGE_END));
+            measure("category totals", "analyzer (list)",
+                () -> checksum(RecursiveExpenseAnalyzer.calculateExpensesByCategory(expenses).values()),
+                aggregators, store, () -> checksum(categoryTotals(store)));
+            System.out.println();
+        }
+    }
+
+    /**
+     * Times the list path, then the store path with each aggregator, checking that they agree
+     */
+    private static void measure(String aggregation, String listPath, LongSupplier list,
+                                List<ColumnAggregator> aggregators, ColumnarExpenseStore store,
+                                LongSupplier columns) {
+        long expected = list.getAsLong();
+        double baselineMs = time(list);
+        print(aggregation, listPath, baselineMs, baselineMs);
+
+        for (ColumnAggregator aggregator : aggregators) {
+            store.setAggregator(aggregator);
+            long actual = columns.getAsLong();
+            if (actual != expected) {
+                throw new IllegalStateException(aggregation + " with " + aggregator.getName()
+                    + " returned " + actual + ", expected " + expected);
+            }
+            print("", "columns, " + aggregator.getName(), time(columns), baselineMs);
+        }
+        store.setAggregator(ColumnAggregators.preferred());
+    }
+
+    private static double time(LongSupplier aggregation) {
+        // Fold every result into a sink, so the JIT cannot drop the work
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += aggregation.getAsLong();
+        }
+
+        long totalNanos = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            sink += aggregation.getAsLong();
+            totalNanos += System.nanoTime() - startTime;
+        }
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return totalNanos / 1e6 / MEASURED_ROUNDS;
+    }
+
+    private static void print(String aggregation, String path, double averageMs, double baselineMs) {
+        System.out.println(String.format("%-17s  %-25s  %9.2f  %6.1fx",
+            aggregation, path, averageMs, baselineMs / averageMs));
+    }
+
+    private static long[] categoryTotals(ColumnarExpenseStore store) {
+        long[] cents = new long[CATEGORIES.length];
+        store.sumByCategory(null, null, cents, new long[CATEGORIES.length]);
+        return cents;
+    }
+
+    /**
+     * Combines category totals into one number that changes if any total does
+     */
+    private static long checksum(long[] cents) {
+        long checksum = 0;
+        for (long total : cents) {
+            checksum = checksum * 31 + total;
+        }
+        return checksum;
+    }
+
+    private static long checksum(Iterable<Double> dollars) {
+        long[] cents = new long[CATEGORIES.length];
+        int i = 0;
+        for (double total : dollars) {
+            cents[i++] = Math.round(total * 100);
+        }
+        return checksum(cents);
+    }
+
+    /**
+     * Creates random expenses, skipping any whose generated id repeats one already created
+     */
+    private static void fill(List<MedicalExpense> expenses, ColumnarExpenseStore store, int size, long seed) {
+        Random random = new Random(seed);
+        LocalDate[] dates = new LocalDate[DAYS];
+        for (int day = 0; day < DAYS; day++) {
+            dates[day] = FIRST_DATE.plusDays(day);
+        }
+        String[] providers = new String[50];
+        for (int i = 0; i < providers.length; i++) {
+            providers[i] = "Provider " + i;
+        }
+
+        while (expenses.size() < size) {
+            MedicalExpense expense = new MedicalExpense("Expense", 0, dates[random.nextInt(DAYS)],
+                CATEGORIES[random.nextInt(CATEGORIES.length)], providers[random.nextInt(providers.length)]);
+            if (store.indexOf(expense) >= 0) {
+                continue;
+            }
+            expense.setAmountCents(100 + random.nextInt(500_000));
+            store.add(expense);
+            expenses.add(expense);
+        }
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", "").replace(",", ""));
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,83 @@
+package meditrack.benchmark;
+
+import meditrack.datastructure.sort.ParallelMergeSort;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how the parallel merge sort scales from one core to all available cores
+ * Usage: ParallelSortBenchmark [size ...], defaulting to 1,000,000 and 10,000,000 elements.
+ * Sorting 10 million boxed integers needs a heap of about 1 GB (e.g. -Xmx2g).
+ */
+public class ParallelSortBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args) : new int[] {1_000_000, 10_000_000};
+        int maxCores = Runtime.getRuntime().availableProcessors();
+
+        for (int size : sizes) {
+            Integer[] original = randomArray(size, 42);
+            double baselineMs = 0;
+
+            System.out.println(String.format("%,d elements", size));
+            System.out.println("cores  time (ms)  speedup  comparisons");
+
+            for (int cores = 1; cores <= maxCores; cores = nextCoreCount(cores, maxCores)) {
+                ForkJoinPool pool = new ForkJoinPool(cores);
+                ParallelMergeSort<Integer> sorter = new ParallelMergeSort<>(8192, pool);
+
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    sorter.sort(original.clone());
+                }
+
+                long totalNanos = 0;
+                for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                    Integer[] array = original.clone();
+                    long startTime = System.nanoTime();
+                    sorter.sort(array);
+                    totalNanos += System.nanoTime() - startTime;
+                }
+                pool.shutdown();
+
+                double averageMs = totalNanos / 1e6 / MEASURED_ROUNDS;
+                if (cores == 1) {
+                    baselineMs = averageMs;
+                }
+
+                System.out.println(String.format("%5d  %9.1f  %7.2fx  %,d",
+                    cores, averageMs, baselineMs / averageMs, sorter.getComparisonCount()));
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Doubles the core count, finishing with the exact number of available cores
+     */
+    private static int nextCoreCount(int cores, int maxCores) {
+        if (cores == maxCores) {
+            return maxCores + 1;
+        }
+        return Math.min(cores * 2, maxCores);
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", "").replace(",", ""));
+        }
+        return sizes;
+    }
+
+    private static Integer[] randomArray(int size, long seed) {
+        Random random = new Random(seed);
+        Integer[] array = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt();
+        }
+        return array;
+    }
+}
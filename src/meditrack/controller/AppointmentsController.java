@@ -11,6 +11,9 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.util.StringConverter;
 
 import meditrack.model.Appointment;
+import meditrack.datastructure.undo.ActionCommand;
+import meditrack.datastructure.undo.FieldEditCommand;
+import meditrack.datastructure.undo.UndoRedoManager;
 
 import java.net.URL;
 import java.time.LocalDate;
@@ -66,6 +69,9 @@ public class AppointmentsController implements Initializable {
     private ObservableList<Appointment> appointmentsList;
     private FilteredList<Appointment> filteredAppointments;
     
+    // Undo/redo history for appointment edits
+    private final UndoRedoManager undoManager = new UndoRedoManager();
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Setup appointments table
@@ -488,6 +494,9 @@ public class AppointmentsController implements Initializable {
             
             // Add to the list
             appointmentsList.add(appointment);
+            undoManager.record(new ActionCommand("Add appointment",
+                () -> appointmentsList.remove(appointment),
+                () -> appointmentsList.add(appointment)));
             
             // Refresh the table
             applyFilters();
@@ -562,8 +571,12 @@ public class AppointmentsController implements Initializable {
         Optional<ButtonType> result = confirmAlert.showAndWait();
         
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            // Remove from the list
+            // Remove from the list, remembering where it was so undo can restore it
+            int index = appointmentsList.indexOf(selectedAppointment);
             appointmentsList.remove(selectedAppointment);
+            undoManager.record(new ActionCommand("Delete appointment",
+                () -> appointmentsList.add(Math.min(index, appointmentsList.size()), selectedAppointment),
+                () -> appointmentsList.remove(selectedAppointment)));
             
             // Refresh the table
             applyFilters();
@@ -596,7 +609,10 @@ public class AppointmentsController implements Initializable {
         if (isSelected) {
             reminderMinutesField.setText(String.valueOf(selectedAppointment.getReminderMinutesBefore()));
         } else {
+            Integer oldReminder = getReminderMinutes(selectedAppointment);
             selectedAppointment.disableReminder();
+            undoManager.record(new FieldEditCommand<>(selectedAppointment, "reminder",
+                AppointmentsController::setReminderMinutes, oldReminder, null));
             updateUpcomingRemindersList(); // Update the reminder list
         }
     }
@@ -620,7 +636,10 @@ public class AppointmentsController implements Initializable {
                 return;
             }
             
+            Integer oldReminder = getReminderMinutes(selectedAppointment);
             selectedAppointment.setReminder(minutes);
+            undoManager.record(new FieldEditCommand<>(selectedAppointment, "reminder",
+                AppointmentsController::setReminderMinutes, oldReminder, minutes));
             updateUpcomingRemindersList(); // Update the reminder list
             showAlert("Reminder updated successfully");
             
@@ -629,6 +648,60 @@ public class AppointmentsController implements Initializable {
         }
     }
     
+    /**
+     * Handles the undo button
+     */
+    @FXML
+    private void handleUndo() {
+        if (undoManager.undo()) {
+            refreshAfterUndoRedo();
+        }
+    }
+    
+    /**
+     * Handles the redo button
+     */
+    @FXML
+    private void handleRedo() {
+        if (undoManager.redo()) {
+            refreshAfterUndoRedo();
+        }
+    }
+    
+    /**
+     * Refreshes the table, details and reminders after an undo or redo
+     */
+    private void refreshAfterUndoRedo() {
+        applyFilters();
+        appointmentsTable.refresh();
+        Appointment selectedAppointment = appointmentsTable.getSelectionModel().getSelectedItem();
+        updateDetailsPanel(selectedAppointment);
+        updateReminderUI(selectedAppointment);
+        updateUpcomingRemindersList();
+    }
+    
+    /**
+     * Gets an appointment's reminder setting
+     * @param appointment The appointment
+     * @return The minutes before the appointment, or null if no reminder is set
+     */
+    private static Integer getReminderMinutes(Appointment appointment) {
+        return appointment.isReminderSet() ? appointment.getReminderMinutesBefore() : null;
+    }
+    
+    /**
+     * Sets or disables an appointment's reminder
+     * @param appointment The appointment
+     * @param minutes The minutes before the appointment, or null to disable the reminder
+     */
+    private static void setReminderMinutes(Appointment appointment, Integer minutes) {
+        if (minutes == null) {
+            appointment.disableReminder();
+        } else {
+            appointment.setReminder(minutes);
+        }
+    }
+    
     /**
      * Shows an alert with the given message
      * @param message The message to display
@@ -15,19 +15,29 @@ import meditrack.model.*;
 import meditrack.datastructure.bag.BagInterface;
 import meditrack.datastructure.bag.ResizableArrayBag;
 import meditrack.datastructure.heap.MedicationReminderHeap;
+import meditrack.datastructure.forecast.ExpenseForecast;
 import meditrack.datastructure.recursion.RecursiveExpenseAnalyzer;
+import meditrack.datastructure.rollup.MonthlyRollups;
+import meditrack.datastructure.sort.TopKSelector;
 
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 
 public class DashboardController implements Initializable {
 
+    private static final int RECENT_EXPENSE_COUNT = 5;
+    private static final int CHART_MONTH_COUNT = 6;
+    private static final int FORECAST_MONTH_COUNT = 3;
+
     @FXML private Label totalExpensesLabel;
     @FXML private Label monthExpensesLabel;
     @FXML private Label reimbursedLabel;
@@ -61,6 +71,7 @@ public class DashboardController implements Initializable {
     private BagInterface<Medication> medicationsBag;
     private MedicationReminderHeap remindersHeap;
     private List<Appointment> appointments;
+    private MonthlyRollups expenseRollups;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -70,6 +81,7 @@ public class DashboardController implements Initializable {
         appointments = new ArrayList<>();
 
         createSampleData();
+        buildExpenseRollups();
         setupTables();
         updateSummaryLabels();
         setupCharts();
@@ -99,6 +111,20 @@ public class DashboardController implements Initializable {
         appointments.add(new Appointment(LocalDateTime.now().plusWeeks(2), "City Lab", "Blood Test", "Laboratory"));
     }
 
+    /**
+     * Builds the monthly rollups that the labels and charts read their totals from
+     * The dashboard keeps its own expenses and never edits them, so the
+     * rollups are built once, when the dashboard is loaded.
+     */
+    private void buildExpenseRollups() {
+        expenseRollups = new MonthlyRollups();
+        for (Object obj : expensesBag.toArray()) {
+            if (obj instanceof MedicalExpense) {
+                expenseRollups.add((MedicalExpense) obj);
+            }
+        }
+    }
+
     private void setupTables() {
         expenseDateColumn.setCellValueFactory(cellData -> javafx.beans.binding.Bindings.createStringBinding(
             () -> cellData.getValue().getDate().format(DateTimeFormatter.ofPattern("MM/dd/yyyy"))));
@@ -115,7 +141,12 @@ public class DashboardController implements Initializable {
                 expenseList.add((MedicalExpense) obj);
             }
         }
-        recentExpensesTable.setItems(FXCollections.observableArrayList(expenseList));
+
+        // Only the most recent expenses are shown, so select them instead of sorting every expense
+        MedicalExpense[] recentExpenses = TopKSelector.selectFirst(
+            expenseList.toArray(new MedicalExpense[0]), RECENT_EXPENSE_COUNT,
+            Comparator.comparing(MedicalExpense::getDate).reversed());
+        recentExpensesTable.setItems(FXCollections.observableArrayList(Arrays.asList(recentExpenses)));
 
         appointmentDateColumn.setCellValueFactory(cellData -> javafx.beans.binding.Bindings.createStringBinding(
             () -> cellData.getValue().getDateTime().format(DateTimeFormatter.ofPattern("MM/dd/yyyy"))));
@@ -144,24 +175,10 @@ public class DashboardController implements Initializable {
             }
         }
 
-        Object[] expenseObjectArray = expensesBag.toArray();
-        List<MedicalExpense> expenseList = new ArrayList<>();
-        for (Object obj : expenseObjectArray) {
-            if (obj instanceof MedicalExpense) {
-                expenseList.add((MedicalExpense) obj);
-            }
-        }
-
-        double totalExpenses = RecursiveExpenseAnalyzer.calculateTotalExpenses(expenseList);
-        totalExpensesLabel.setText(String.format("$%.2f", totalExpenses));
-
-        LocalDate now = LocalDate.now();
-        LocalDate firstOfMonth = LocalDate.of(now.getYear(), now.getMonth(), 1);
-        List<MedicalExpense> currentMonthExpenses = RecursiveExpenseAnalyzer.findExpensesInDateRange(expenseList, firstOfMonth, now);
-        double monthExpenses = RecursiveExpenseAnalyzer.calculateTotalExpenses(currentMonthExpenses);
-        monthExpensesLabel.setText(String.format("$%.2f", monthExpenses));
-
-        reimbursedLabel.setText("$150.00");
+        MonthlyRollups.Rollup overall = expenseRollups.getOverall();
+        totalExpensesLabel.setText(Money.format(overall.getTotalCents()));
+        monthExpensesLabel.setText(Money.format(expenseRollups.get(YearMonth.now()).getTotalCents()));
+        reimbursedLabel.setText(Money.format(overall.getReimbursedCents()));
 
         int activeMeds = 0;
         int pendingRefills = 0;
@@ -179,15 +196,7 @@ public class DashboardController implements Initializable {
     }
 
     private void setupCharts() {
-        Object[] expenseObjectArray = expensesBag.toArray();
-        List<MedicalExpense> expenseList = new ArrayList<>();
-        for (Object obj : expenseObjectArray) {
-            if (obj instanceof MedicalExpense) {
-                expenseList.add((MedicalExpense) obj);
-            }
-        }
-
-        Map<MedicalExpense.ExpenseCategory, Double> categoryTotals = RecursiveExpenseAnalyzer.calculateExpensesByCategory(expenseList);
+        Map<MedicalExpense.ExpenseCategory, Double> categoryTotals = expenseRollups.getOverall().getCategoryTotals();
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
         for (Map.Entry<MedicalExpense.ExpenseCategory, Double> entry : categoryTotals.entrySet()) {
             pieChartData.add(new PieChart.Data(entry.getKey().getDisplayName(), entry.getValue()));
@@ -196,12 +205,29 @@ public class DashboardController implements Initializable {
 
         LineChart.Series<String, Number> series = new LineChart.Series<>();
         series.setName("Monthly Expenses");
-        series.getData().add(new LineChart.Data<>("Jan", 420.00));
-        series.getData().add(new LineChart.Data<>("Feb", 350.50));
-        series.getData().add(new LineChart.Data<>("Mar", 275.00));
-        series.getData().add(new LineChart.Data<>("Apr", 641.49));
-        series.getData().add(new LineChart.Data<>("May", 0));
+        DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MMM");
+        YearMonth month = YearMonth.now().minusMonths(CHART_MONTH_COUNT - 1);
+        for (int i = 0; i < CHART_MONTH_COUNT; i++, month = month.plusMonths(1)) {
+            series.getData().add(new LineChart.Data<>(month.format(monthFormat), expenseRollups.get(month).getTotal()));
+        }
         monthlyExpenseChart.getData().add(series);
+
+        List<MedicalExpense> expenseList = new ArrayList<>();
+        for (Object obj : expensesBag.toArray()) {
+            if (obj instanceof MedicalExpense) {
+                expenseList.add((MedicalExpense) obj);
+            }
+        }
+
+        // Continue the chart with the forecast from the current month on,
+        // fitted to the months that have ended and computed once on load
+        LineChart.Series<String, Number> forecastSeries = new LineChart.Series<>();
+        forecastSeries.setName("Forecast");
+        ExpenseForecast forecast = RecursiveExpenseAnalyzer.forecastExpenses(expenseList, FORECAST_MONTH_COUNT);
+        for (ExpenseForecast.Projection projection : forecast.getTotal()) {
+            forecastSeries.getData().add(new LineChart.Data<>(projection.getMonth().format(monthFormat), projection.getAmount()));
+        }
+        monthlyExpenseChart.getData().add(forecastSeries);
     }
 
     @FXML
@@ -0,0 +1,84 @@
+package meditrack.controller;
+
+import javafx.concurrent.Task;
+
+import meditrack.controller.ExpensesController.ComparableExpense;
+import meditrack.datastructure.sort.SortingAlgorithm;
+import meditrack.model.MedicalExpense;
+
+import java.util.Comparator;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Background task that sorts expenses with one of the comparison-based algorithms
+ * Progress is taken from the algorithm's comparison counter and measured
+ * against the number of comparisons the algorithm is expected to need.
+ * The task checks for cancellation between comparisons, so cancelling it
+ * stops the sort within a few thousand comparisons instead of letting it
+ * run to completion. The task's value is the original expenses, in sorted order.
+ */
+public class ExpenseSortTask extends Task<MedicalExpense[]> {
+    // Progress is reported and cancellation checked once per this many comparisons
+    private static final int CHECK_INTERVAL_MASK = 4096 - 1;
+
+    private final SortingAlgorithm<ComparableExpense> algorithm;
+    private final MedicalExpense[] expenses;
+    private final Comparator<MedicalExpense> comparator;
+    private final double expectedComparisons;
+    private long comparisonsSinceCheck;
+
+    /**
+     * Creates a task that sorts a snapshot of the expenses
+     * @param algorithm The algorithm that sorts the expenses
+     * @param expenses The expenses to sort, which are not modified
+     * @param comparator The order to sort the expenses in
+     */
+    public ExpenseSortTask(SortingAlgorithm<ComparableExpense> algorithm,
+                           MedicalExpense[] expenses, Comparator<MedicalExpense> comparator) {
+        this.algorithm = algorithm;
+        this.expenses = expenses.clone();
+        this.comparator = comparator;
+        this.expectedComparisons = algorithm.getComparisonGrowth().estimateComparisons(expenses.length);
+    }
+
+    @Override
+    protected MedicalExpense[] call() {
+        // Parallel algorithms may race on the check counter, which only shifts when checks happen
+        Comparator<MedicalExpense> checkedComparator = (first, second) -> {
+            if ((++comparisonsSinceCheck & CHECK_INTERVAL_MASK) == 0) {
+                checkIn();
+            }
+            return comparator.compare(first, second);
+        };
+
+        ComparableExpense[] comparableExpenses = new ComparableExpense[expenses.length];
+        for (int i = 0; i < expenses.length; i++) {
+            comparableExpenses[i] = new ComparableExpense(expenses[i], checkedComparator);
+        }
+
+        algorithm.resetCounters();
+        updateProgress(0, 1);
+        algorithm.sort(comparableExpenses);
+        updateProgress(1, 1);
+
+        // Hand back the expenses themselves, since the wrappers are copies with ids of their own
+        MedicalExpense[] sortedExpenses = new MedicalExpense[comparableExpenses.length];
+        for (int i = 0; i < comparableExpenses.length; i++) {
+            sortedExpenses[i] = comparableExpenses[i].getOriginal();
+        }
+        return sortedExpenses;
+    }
+
+    /**
+     * Stops the sort if the task was cancelled, otherwise reports progress
+     */
+    private void checkIn() {
+        if (isCancelled()) {
+            throw new CancellationException("Sort superseded or cancelled");
+        }
+
+        // The estimate can fall short, so hold progress just below complete
+        double fraction = Math.min(0.99, algorithm.getComparisonCount() / expectedComparisons);
+        updateProgress(fraction, 1);
+    }
+}
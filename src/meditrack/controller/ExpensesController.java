@@ -17,16 +17,30 @@ import javafx.util.StringConverter;
 
 import meditrack.model.MedicalExpense;
 import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
 import meditrack.datastructure.bag.BagInterface;
 import meditrack.datastructure.bag.ResizableArrayBag;
+import meditrack.datastructure.index.ExpenseDateIndex;
+import meditrack.datastructure.index.SkipListIndex;
 import meditrack.datastructure.sort.BubbleSort;
+import meditrack.datastructure.sort.ExpenseSortKey;
+import meditrack.datastructure.sort.IntroSort;
+import meditrack.datastructure.sort.MultiKeySort;
+import meditrack.datastructure.sort.ParallelMergeSort;
+import meditrack.datastructure.sort.PrimitiveKeySort;
 import meditrack.datastructure.sort.QuickSort;
 import meditrack.datastructure.sort.SortingAlgorithm;
+import meditrack.datastructure.sort.TimSort;
+import meditrack.datastructure.undo.ActionCommand;
+import meditrack.datastructure.undo.UndoRedoManager;
 
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -44,6 +58,7 @@ public class ExpensesController implements Initializable {
 
     // Sorting components
     @FXML private ComboBox<String> sortField;
+    @FXML private CheckBox sortDescending;
     @FXML private ComboBox<String> sortAlgorithm;
     
     // Expense table and columns
@@ -65,6 +80,8 @@ public class ExpensesController implements Initializable {
     @FXML private Label sortTimeLabel;
     @FXML private Label comparisonsLabel;
     @FXML private Label swapsLabel;
+    @FXML private ProgressBar sortProgress;
+    @FXML private Button cancelSortButton;
     
     // Data structures
     private BagInterface<MedicalExpense> expensesBag;
@@ -74,6 +91,29 @@ public class ExpensesController implements Initializable {
     // Available sorting algorithms
     private Map<String, SortingAlgorithm<ComparableExpense>> sortingAlgorithms;
     
+    // Sorts on primitive keys directly instead of through ComparableExpense wrappers
+    private static final String PRIMITIVE_KEY_SORT = "Primitive Key Sort";
+    
+    // Sort field that orders by category, then date, then amount
+    private static final String CATEGORY_DATE_AMOUNT = "Category, Date, Amount";
+    
+    // Runs comparison sorts off the JavaFX application thread, one at a time
+    private final ExecutorService sortExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "expense-sort");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ExpenseSortTask currentSortTask;
+    
+    // Keeps the expenses in the current sort order as they are added and removed
+    private SkipListIndex<?, MedicalExpense> expenseIndex;
+    
+    // Date-range totals of every expense, for the summary labels
+    private final ExpenseDateIndex dateIndex = new ExpenseDateIndex();
+    
+    // Undo/redo history for expense edits
+    private final UndoRedoManager undoManager = new UndoRedoManager();
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Initialize data structures
@@ -84,6 +124,9 @@ public class ExpensesController implements Initializable {
         sortingAlgorithms = new HashMap<>();
         sortingAlgorithms.put("Bubble Sort", new BubbleSort<>());
         sortingAlgorithms.put("Quick Sort", new QuickSort<>());
+        sortingAlgorithms.put("Intro Sort", new IntroSort<>());
+        sortingAlgorithms.put("Tim Sort", new TimSort<>());
+        sortingAlgorithms.put("Parallel Merge Sort", new ParallelMergeSort<>());
         
         // Setup table columns
         setupTableColumns();
@@ -153,8 +196,7 @@ public class ExpensesController implements Initializable {
             // Random reimbursement (30% chance of being reimbursed)
             if (random.nextDouble() < 0.3) {
                 double reimbursementPercent = 0.5 + random.nextDouble() * 0.4; // 50-90% reimbursement
-                double reimbursedAmount = Math.round(amount * reimbursementPercent * 100) / 100.0;
-                expense.setReimbursedAmount(reimbursedAmount);
+                expense.setReimbursedCents(Money.multiply(expense.getAmountCents(), reimbursementPercent));
             }
             
             // Add expense to bag
@@ -300,12 +342,14 @@ public class ExpensesController implements Initializable {
     private void setupSortingControls() {
         // Setup sort field options
         sortField.getItems().addAll(
-            "Date", "Description", "Category", "Provider", "Amount", "Out of Pocket"
+            "Date", "Description", "Category", "Provider", "Amount", "Out of Pocket",
+            CATEGORY_DATE_AMOUNT
         );
         sortField.getSelectionModel().selectFirst();
         
         // Setup sort algorithm options
         sortAlgorithm.getItems().addAll(sortingAlgorithms.keySet());
+        sortAlgorithm.getItems().add(PRIMITIVE_KEY_SORT);
         sortAlgorithm.getSelectionModel().selectFirst();
     }
     
@@ -324,8 +368,13 @@ public class ExpensesController implements Initializable {
             }
         }
 
+        // Index the expenses in the selected sort order, and show them in that order
+        expenseIndex = createIndex(sortField.getValue(), sortDescending.isSelected());
+        expenseIndex.rebuild(list);
+        dateIndex.rebuild(list);
+        
         // Convert to ObservableList and bind to table
-        expensesList = FXCollections.observableArrayList(list);
+        expensesList = FXCollections.observableArrayList(expenseIndex.toList());
         filteredExpenses = new FilteredList<>(expensesList);
         applyFilters();
         expensesTable.setItems(filteredExpenses);
@@ -333,23 +382,33 @@ public class ExpensesController implements Initializable {
     
     /**
      * Updates the summary labels
+     * When only the date and category filters are set, the totals come from
+     * the date index in O(log n); a search text filter needs a scan of the
+     * filtered expenses.
      */
     private void updateSummary() {
-        // Calculate totals
-        double total = 0;
-        double totalReimbursed = 0;
-        
-        for (MedicalExpense expense : filteredExpenses) {
-            total += expense.getAmount();
-            totalReimbursed += expense.getReimbursedAmount();
+        // Calculate exact totals in cents
+        long total = 0;
+        long totalReimbursed = 0;
+        
+        if (searchField.getText().isEmpty()) {
+            ExpenseDateIndex.Totals totals = dateIndex.getTotals(
+                startDatePicker.getValue(), endDatePicker.getValue(), categoryFilter.getValue());
+            total = totals.getTotalCents();
+            totalReimbursed = totals.getReimbursedCents();
+        } else {
+            for (MedicalExpense expense : filteredExpenses) {
+                total = Money.add(total, expense.getAmountCents());
+                totalReimbursed = Money.add(totalReimbursed, expense.getReimbursedCents());
+            }
         }
         
-        double outOfPocket = total - totalReimbursed;
+        long outOfPocket = total - totalReimbursed;
         
         // Update labels
-        totalLabel.setText(String.format("$%.2f", total));
-        totalReimbursedLabel.setText(String.format("$%.2f", totalReimbursed));
-        totalOutOfPocketLabel.setText(String.format("$%.2f", outOfPocket));
+        totalLabel.setText(Money.format(total));
+        totalReimbursedLabel.setText(Money.format(totalReimbursed));
+        totalOutOfPocketLabel.setText(Money.format(outOfPocket));
     }
     
     /**
@@ -462,14 +521,15 @@ public class ExpensesController implements Initializable {
             if (dialogButton == saveButtonType) {
                 try {
                     String description = descriptionField.getText();
-                    double amount = Double.parseDouble(amountField.getText());
+                    // Parse amounts straight to cents, so no binary rounding creeps in
+                    long amountCents = Money.parse(amountField.getText());
                     
                     // Parse reimbursed amount (default to 0 if empty)
-                    double reimbursedAmount = 0.0;
+                    long reimbursedCents = 0;
                     if (!reimbursedField.getText().isEmpty()) {
-                        reimbursedAmount = Double.parseDouble(reimbursedField.getText());
+                        reimbursedCents = Money.parse(reimbursedField.getText());
                         // Ensure reimbursed amount doesn't exceed the total amount
-                        reimbursedAmount = Math.min(reimbursedAmount, amount);
+                        reimbursedCents = Math.min(reimbursedCents, amountCents);
                     }
                     
                     LocalDate date = datePicker.getValue();
@@ -487,11 +547,12 @@ public class ExpensesController implements Initializable {
                     }
                     
                     // Create a new expense
-                    MedicalExpense expense = new MedicalExpense(description, amount, date, category, provider);
+                    MedicalExpense expense = new MedicalExpense(description, 0, date, category, provider);
+                    expense.setAmountCents(amountCents);
                     
                     // Set reimbursed amount if provided
-                    if (reimbursedAmount > 0) {
-                        expense.setReimbursedAmount(reimbursedAmount);
+                    if (reimbursedCents > 0) {
+                        expense.setReimbursedCents(reimbursedCents);
                     }
                     
                     return expense;
@@ -511,11 +572,13 @@ public class ExpensesController implements Initializable {
         Optional<MedicalExpense> result = dialog.showAndWait();
         
         result.ifPresent(expense -> {
-            // Add to bag
-            expensesBag.add(expense);
+            // Add to bag and observable list
+            addExpenseToModel(expense);
             
-            // Add to observable list
-            expensesList.add(expense);
+            // Record the addition so it can be undone
+            undoManager.record(new ActionCommand("Add expense",
+                () -> removeExpenseFromModel(expense),
+                () -> addExpenseToModel(expense)));
             
             // Reapply filters
             applyFilters();
@@ -576,14 +639,25 @@ public class ExpensesController implements Initializable {
      */
     static class ComparableExpense extends MedicalExpense implements Comparable<ComparableExpense> {
         private final Comparator<MedicalExpense> comparator;
+        private final MedicalExpense original;
         
         public ComparableExpense(MedicalExpense expense, Comparator<MedicalExpense> comparator) {
             super(expense.getDescription(), expense.getAmount(), expense.getDate(), 
                  expense.getCategory(), expense.getProvider());
             this.comparator = comparator;
+            this.original = expense;
             
             // Copy all remaining fields from the original expense
-            this.setReimbursedAmount(expense.getReimbursedAmount());
+            this.setAmountCents(expense.getAmountCents());
+            this.setReimbursedCents(expense.getReimbursedCents());
+        }
+        
+        /**
+         * Gets the expense this wrapper was copied from
+         * @return The original expense
+         */
+        public MedicalExpense getOriginal() {
+            return original;
         }
         
         @Override
@@ -599,6 +673,12 @@ public class ExpensesController implements Initializable {
     private void handleSort() {
         // Get the selected sorting algorithm
         String algorithmName = sortAlgorithm.getValue();
+        
+        if (PRIMITIVE_KEY_SORT.equals(algorithmName)) {
+            handlePrimitiveKeySort();
+            return;
+        }
+        
         SortingAlgorithm<ComparableExpense> algorithm = sortingAlgorithms.get(algorithmName);
         
         if (algorithm == null) {
@@ -608,56 +688,231 @@ public class ExpensesController implements Initializable {
         // Get the current filtered expenses
         MedicalExpense[] expensesToSort = filteredExpenses.toArray(new MedicalExpense[0]);
         
-        // Get the selected sort field
+        // Get the selected sort field and direction
         String field = sortField.getValue();
+        boolean descending = sortDescending.isSelected();
         
-        // Create a comparator based on the selected field
-        Comparator<MedicalExpense> comparator = switch (field) {
-            case "Date" -> Comparator.comparing(MedicalExpense::getDate);
-            case "Description" -> Comparator.comparing(MedicalExpense::getDescription);
-            case "Category" -> Comparator.comparing(e -> e.getCategory().getDisplayName());
-            case "Provider" -> Comparator.comparing(MedicalExpense::getProvider);
-            case "Amount" -> Comparator.comparing(MedicalExpense::getAmount);
-            case "Out of Pocket" -> Comparator.comparing(MedicalExpense::getOutOfPocketCost);
-            default -> Comparator.comparing(MedicalExpense::getDate);
-        };
-        
-        // Convert expenses to comparable expenses
-        ComparableExpense[] comparableExpenses = new ComparableExpense[expensesToSort.length];
-        for (int i = 0; i < expensesToSort.length; i++) {
-            comparableExpenses[i] = new ComparableExpense(expensesToSort[i], comparator);
+        // Create a comparator based on the selected field and direction
+        Comparator<MedicalExpense> comparator = createComparator(field);
+        if (descending) {
+            comparator = comparator.reversed();
         }
         
-        // Reset performance counters
-        algorithm.resetCounters();
+        // A newer sort supersedes one that is still running
+        cancelCurrentSort();
         
-        // Sort the expenses
+        ExpenseSortTask task = new ExpenseSortTask(algorithm, expensesToSort, comparator);
+        currentSortTask = task;
         long startTime = System.nanoTime();
-        algorithm.sort(comparableExpenses);
-        long endTime = System.nanoTime();
         
-        // Calculate sort time in milliseconds
-        double sortTimeMs = (endTime - startTime) / 1e6;
+        sortProgress.progressProperty().bind(task.progressProperty());
+        sortProgress.setVisible(true);
+        cancelSortButton.setDisable(false);
+        sortTimeLabel.setText("Sorting...");
         
-        // Update performance labels
-        sortTimeLabel.setText(String.format("%.2f ms", sortTimeMs));
-        comparisonsLabel.setText(String.format("%d", algorithm.getComparisonCount()));
-        swapsLabel.setText(String.format("%d", algorithm.getSwapCount()));
+        task.setOnSucceeded(event -> {
+            if (task != currentSortTask) {
+                return;
+            }
+            finishSort();
+            
+            // Calculate sort time in milliseconds
+            double sortTimeMs = (System.nanoTime() - startTime) / 1e6;
+            
+            // Update performance labels
+            sortTimeLabel.setText(String.format("%.2f ms", sortTimeMs));
+            comparisonsLabel.setText(String.format("%d", algorithm.getComparisonCount()));
+            swapsLabel.setText(String.format("%d", algorithm.getSwapCount()));
+            
+            // Show the algorithm's order and keep the table in it from now on
+            reindexExpenses(field, descending, Arrays.asList(task.getValue()));
+            
+            // Reapply filters
+            applyFilters();
+        });
+        task.setOnCancelled(event -> {
+            if (task == currentSortTask) {
+                finishSort();
+                sortTimeLabel.setText("Cancelled");
+            }
+        });
+        task.setOnFailed(event -> {
+            if (task == currentSortTask) {
+                finishSort();
+                sortTimeLabel.setText("Failed");
+                System.err.println("Error sorting expenses: " + task.getException().getMessage());
+            }
+        });
+        
+        sortExecutor.execute(task);
+    }
+    
+    /**
+     * Handles the cancel sort button
+     */
+    @FXML
+    private void handleCancelSort() {
+        cancelCurrentSort();
+    }
+    
+    /**
+     * Cancels the background sort, if one is running
+     */
+    private void cancelCurrentSort() {
+        if (currentSortTask != null) {
+            currentSortTask.cancel();
+        }
+    }
+    
+    /**
+     * Resets the sort progress controls once the current sort has ended
+     */
+    private void finishSort() {
+        currentSortTask = null;
+        sortProgress.progressProperty().unbind();
+        sortProgress.setVisible(false);
+        cancelSortButton.setDisable(true);
+    }
+    
+    /**
+     * Sorts the filtered expenses by packing the primitive keys of the sort
+     * field into longs, avoiding wrapper objects and comparator calls
+     */
+    private void handlePrimitiveKeySort() {
+        // The primitive sort is fast enough to run directly, but it still supersedes a running sort
+        cancelCurrentSort();
+        
+        MedicalExpense[] expensesToSort = filteredExpenses.toArray(new MedicalExpense[0]);
+        String field = sortField.getValue();
+        boolean descending = sortDescending.isSelected();
+        List<ExpenseSortKey> keys = getSortKeys(field);
         
-        // Convert back to regular expenses
-        MedicalExpense[] sortedExpenses = new MedicalExpense[comparableExpenses.length];
-        for (int i = 0; i < comparableExpenses.length; i++) {
-            sortedExpenses[i] = comparableExpenses[i];
+        String strategyName = "Comparator Sort";
+        long startTime = System.nanoTime();
+        if (keys != null) {
+            // Counting or radix sort when the key range allows, otherwise a primitive comparison sort
+            MultiKeySort<MedicalExpense> multiKeySort = new MultiKeySort<>();
+            for (ExpenseSortKey key : keys) {
+                multiKeySort.thenBy(key, descending);
+            }
+            PrimitiveKeySort.Strategy strategy = multiKeySort.sort(expensesToSort);
+            if (strategy != null) {
+                strategyName = strategy.getDisplayName();
+            }
+        } else {
+            // Text fields have no primitive key, so use a stable comparator sort
+            Comparator<MedicalExpense> comparator = createComparator(field);
+            Arrays.sort(expensesToSort, descending ? comparator.reversed() : comparator);
         }
+        long endTime = System.nanoTime();
+        
+        // Update performance labels; the primitive sort does not count operations
+        sortTimeLabel.setText(String.format("%.2f ms (%s)", (endTime - startTime) / 1e6, strategyName));
+        comparisonsLabel.setText("-");
+        swapsLabel.setText("-");
         
-        // Update the table with sorted expenses
-        expensesList.clear();
-        expensesList.addAll(sortedExpenses);
+        // Show this order and keep the table in it from now on
+        reindexExpenses(field, descending, Arrays.asList(expensesToSort));
         
         // Reapply filters
         applyFilters();
     }
     
+    /**
+     * Re-keys the expense index on a sort field and shows every expense in
+     * the sorted order, replacing the table contents in a single change
+     * The index is filled from the sorted expenses first, so expenses with
+     * equal keys stay in the order the sort algorithm left them in. Expenses
+     * hidden by the filters or added while a background sort ran follow in
+     * their current order, and expenses deleted meanwhile are left out.
+     * @param field The name of the sort field
+     * @param descending True to order by the field in descending order
+     * @param sortedExpenses The expenses in the order the sort produced
+     */
+    private void reindexExpenses(String field, boolean descending, List<MedicalExpense> sortedExpenses) {
+        Set<MedicalExpense> remaining = new HashSet<>(expensesList);
+        List<MedicalExpense> order = new ArrayList<>(expensesList.size());
+        for (MedicalExpense expense : sortedExpenses) {
+            if (remaining.remove(expense)) {
+                order.add(expense);
+            }
+        }
+        for (MedicalExpense expense : expensesList) {
+            if (remaining.contains(expense)) {
+                order.add(expense);
+            }
+        }
+        
+        SkipListIndex<?, MedicalExpense> index = createIndex(field, descending);
+        index.rebuild(order);
+        expenseIndex = index;
+        expensesList.setAll(index.toList());
+    }
+    
+    /**
+     * Creates an empty index that orders expenses by a sort field, keeping ties in insertion order
+     * @param field The name of the sort field
+     * @param descending True to order by the field in descending order
+     * @return The index
+     */
+    private SkipListIndex<?, MedicalExpense> createIndex(String field, boolean descending) {
+        List<ExpenseSortKey> keys = getSortKeys(field);
+        
+        if (keys != null) {
+            // Capture the primitive keys, so the index can find an expense after it is edited
+            Function<MedicalExpense, long[]> keyExtractor = expense -> {
+                long[] values = new long[keys.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = keys.get(i).applyAsLong(expense);
+                }
+                return values;
+            };
+            Comparator<long[]> keyOrder = Arrays::compare;
+            return new SkipListIndex<>(keyExtractor, descending ? keyOrder.reversed() : keyOrder,
+                MedicalExpense::getId);
+        }
+        
+        Function<MedicalExpense, String> keyExtractor =
+            "Provider".equals(field) ? MedicalExpense::getProvider : MedicalExpense::getDescription;
+        Comparator<String> keyOrder = Comparator.naturalOrder();
+        return new SkipListIndex<>(keyExtractor, descending ? keyOrder.reversed() : keyOrder,
+            MedicalExpense::getId);
+    }
+    
+    /**
+     * Gets the primitive keys for the given sort field, most significant first
+     * @param field The name of the sort field
+     * @return The keys, or null if the field has no primitive key
+     */
+    private List<ExpenseSortKey> getSortKeys(String field) {
+        if (CATEGORY_DATE_AMOUNT.equals(field)) {
+            return List.of(ExpenseSortKey.CATEGORY, ExpenseSortKey.DATE, ExpenseSortKey.AMOUNT);
+        }
+        
+        ExpenseSortKey key = ExpenseSortKey.forFieldName(field);
+        return key == null ? null : List.of(key);
+    }
+    
+    /**
+     * Creates a comparator for the given sort field
+     * @param field The name of the sort field
+     * @return A comparator that orders expenses by the field
+     */
+    private Comparator<MedicalExpense> createComparator(String field) {
+        return switch (field) {
+            case "Date" -> Comparator.comparing(MedicalExpense::getDate);
+            case "Description" -> Comparator.comparing(MedicalExpense::getDescription);
+            case "Category" -> Comparator.comparing(e -> e.getCategory().getDisplayName());
+            case "Provider" -> Comparator.comparing(MedicalExpense::getProvider);
+            case "Amount" -> Comparator.comparing(MedicalExpense::getAmount);
+            case "Out of Pocket" -> Comparator.comparing(MedicalExpense::getOutOfPocketCost);
+            case CATEGORY_DATE_AMOUNT -> createComparator("Category")
+                .thenComparing(createComparator("Date"))
+                .thenComparing(createComparator("Amount"));
+            default -> Comparator.comparing(MedicalExpense::getDate);
+        };
+    }
+    
     /**
      * Handles the add expense button
      */
@@ -677,15 +932,20 @@ public class ExpensesController implements Initializable {
             alert.setTitle("Confirm Deletion");
             alert.setHeaderText(null);
             alert.setContentText("Are you sure you want to delete this expense?\n\n" + 
-                selectedExpense.getDescription() + " - " + String.format("$%.2f", selectedExpense.getAmount()));
+                selectedExpense.getDescription() + " - " + Money.format(selectedExpense.getAmountCents()));
             
             Optional<ButtonType> result = alert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
                 // Step 1: Create a brand new data model from scratch
                 refreshDataModel(selectedExpense);
                 
-                // Step 2: Update the table and UI
-                updateSummary();
+                // Record the deletion so it can be undone
+                undoManager.record(new ActionCommand("Delete expense",
+                    () -> addExpenseToModel(selectedExpense),
+                    () -> removeExpenseFromModel(selectedExpense)));
+                
+                // Step 2: Reapply the filters to the new list, which also updates the summary
+                applyFilters();
             }
         } else {
             // Show alert if no expense is selected
@@ -697,6 +957,52 @@ public class ExpensesController implements Initializable {
         }
     }
 
+    /**
+     * Handles the undo button
+     */
+    @FXML
+    private void handleUndo() {
+        if (undoManager.undo()) {
+            applyFilters();
+        }
+    }
+    
+    /**
+     * Handles the redo button
+     */
+    @FXML
+    private void handleRedo() {
+        if (undoManager.redo()) {
+            applyFilters();
+        }
+    }
+    
+    /**
+     * Adds an expense to the bag, the indexes and the observable list
+     * @param expense The expense to add
+     */
+    private void addExpenseToModel(MedicalExpense expense) {
+        expensesBag.add(expense);
+        dateIndex.add(expense);
+        
+        // Insert at the expense's place in the sort order, so no re-sort is needed
+        expensesList.add(expenseIndex.insert(expense), expense);
+    }
+    
+    /**
+     * Removes an expense from the bag, the indexes and the observable list
+     * @param expense The expense to remove
+     */
+    private void removeExpenseFromModel(MedicalExpense expense) {
+        expensesBag.remove(expense);
+        dateIndex.remove(expense);
+        
+        int position = expenseIndex.remove(expense);
+        if (position >= 0) {
+            expensesList.remove(position);
+        }
+    }
+    
     /**
      * Recreates the entire data model, excluding the specified expense
      * @param expenseToExclude The expense to exclude from the new data model
@@ -734,13 +1040,13 @@ public class ExpensesController implements Initializable {
         // Create entirely new data structures
         BagInterface<MedicalExpense> newBag = new ResizableArrayBag<>();
         
-        // Fill the new bag
-        for (MedicalExpense expense : tempList) {
-            newBag.add(expense);
-        }
+        // Fill the new bag in a single bulk pass
+        newBag.addAll(tempList.toArray(new MedicalExpense[0]));
         
-        // Create a new ObservableList
-        ObservableList<MedicalExpense> newObservableList = FXCollections.observableArrayList(tempList);
+        // Create a new ObservableList in the index's sort order
+        expenseIndex.remove(expenseToExclude);
+        dateIndex.remove(expenseToExclude);
+        ObservableList<MedicalExpense> newObservableList = FXCollections.observableArrayList(expenseIndex.toList());
         
         // Update references
         expensesBag = newBag;
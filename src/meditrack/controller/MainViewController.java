@@ -1,19 +1,20 @@
 package meditrack.controller;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
 import java.util.ResourceBundle;
-import java.util.Stack;
+
+import meditrack.StartupMetrics;
+import meditrack.datastructure.stack.RingBufferStack;
 
 /**
  * Controller for the main application view
@@ -30,7 +31,19 @@ public class MainViewController implements Initializable {
     @FXML private StackPane contentArea;
     
     // Stack for navigation history - demonstration of the Stack data structure
-    private Stack<String> navigationHistory = new Stack<>();
+    // Bounded so long sessions keep constant memory; repeated clicks on the same tab are not recorded
+    private static final int MAX_HISTORY = 50;
+    private final RingBufferStack<String> navigationHistory = new RingBufferStack<>(MAX_HISTORY, true);
+    
+    // Loaded views and their controllers, reused across navigations
+    private final ViewCache viewCache = new ViewCache();
+    
+    // Views loaded in the background at startup, highest priority first
+    private static final List<String> PRELOAD_ORDER =
+        Arrays.asList("Dashboard", "Expenses", "Medications", "Appointment");
+    
+    // The view currently shown in the content area
+    private String displayedView;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -41,8 +54,36 @@ public class MainViewController implements Initializable {
         appointmentsButton.setOnAction(e -> navigateTo("Appointment"));
 //        analyticsButton.setOnAction(e -> navigateTo("Analytics"));
         
-        // Load the dashboard by default
-        navigateTo("Dashboard");
+        // Show the dashboard by default once it has been loaded in the background
+        navigationHistory.push("Dashboard");
+        Label loadingLabel = new Label("Loading...");
+        loadingLabel.setStyle("-fx-font-size: 18px;");
+        contentArea.getChildren().add(loadingLabel);
+        
+        new ViewPreloader(viewCache).preload(PRELOAD_ORDER,
+            this::handleViewPreloaded, this::handleViewPreloadFailed, StartupMetrics::markInteractive);
+    }
+    
+    /**
+     * Displays a preloaded view if it is the view the user is waiting for
+     * @param viewName The name of the view that finished loading
+     */
+    private void handleViewPreloaded(String viewName) {
+        if (viewName.equals(navigationHistory.peek()) && !viewName.equals(displayedView)) {
+            showView(viewName);
+        }
+    }
+    
+    /**
+     * Loads a view the user is waiting for on the application thread after
+     * its background load failed, so the content area shows the view or an
+     * error message instead of staying on "Loading..."
+     * @param viewName The name of the view that could not be preloaded
+     */
+    private void handleViewPreloadFailed(String viewName) {
+        if (viewName.equals(navigationHistory.peek()) && !viewName.equals(displayedView)) {
+            showView(viewName);
+        }
     }
     
     /**
@@ -99,35 +140,27 @@ public class MainViewController implements Initializable {
     
     
     private void navigateTo(String viewName) {
+        // Push the current view onto the navigation stack
+        navigationHistory.push(viewName);
+        
+        showView(viewName);
+    }
+    
+    /**
+     * Displays a view in the content area, reusing the cached view and
+     * controller when the view has been loaded before
+     * @param viewName The name of the view to display
+     */
+    private void showView(String viewName) {
+        displayedView = viewName;
+        
         try {
-            // Push the current view onto the navigation stack
-            navigationHistory.push(viewName);
+            ViewCache.CachedView cachedView = viewCache.get(viewName);
             
-            // Try different paths to find the FXML file
-            String[] pathsToTry = {
-                "src/resources/fxml/" + viewName + "View.fxml",
-                "resources/fxml/" + viewName + "View.fxml",
-                "fxml/" + viewName + "View.fxml"
-            };
-            
-            File fxmlFile = null;
-            for (String path : pathsToTry) {
-                File tempFile = new File(path);
-                if (tempFile.exists()) {
-                    fxmlFile = tempFile;
-                    System.out.println("Found file at: " + path);
-                    break;
-                }
-            }
-            
-            if (fxmlFile != null && fxmlFile.exists()) {
-                // Load using file URL
-                URL url = fxmlFile.toURI().toURL();
-                Parent view = FXMLLoader.load(url);
-                
-                // Clear the content area and add the new view
+            if (cachedView != null) {
+                // Clear the content area and add the view
                 contentArea.getChildren().clear();
-                contentArea.getChildren().add(view);
+                contentArea.getChildren().add(cachedView.getView());
                 
                 System.out.println("Navigation successful to: " + viewName);
             } else {
@@ -167,22 +200,8 @@ public class MainViewController implements Initializable {
             String previousView = navigationHistory.peek();
             
             // Navigate to the previous view without pushing to the stack
-            try {
-                File fxmlFile = new File("src/resources/fxml/" + previousView + "View.fxml");
-                
-                if (fxmlFile.exists()) {
-                    URL url = fxmlFile.toURI().toURL();
-                    Parent view = FXMLLoader.load(url);
-                    
-                    contentArea.getChildren().clear();
-                    contentArea.getChildren().add(view);
-                    
-                    System.out.println("Navigation back to: " + previousView);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                System.err.println("Error navigating back: " + e.getMessage());
-            }
+            showView(previousView);
+            System.out.println("Navigation back to: " + previousView);
         }
     }
 }
\ No newline at end of file
@@ -19,6 +19,9 @@ import meditrack.model.MedicationReminder;
 import meditrack.datastructure.bag.BagInterface;
 import meditrack.datastructure.bag.ResizableArrayBag;
 import meditrack.datastructure.heap.MedicationReminderHeap;
+import meditrack.datastructure.undo.ActionCommand;
+import meditrack.datastructure.undo.FieldEditCommand;
+import meditrack.datastructure.undo.UndoRedoManager;
 
 import java.net.URL;
 import java.time.LocalDate;
@@ -66,6 +69,9 @@ public class MedicationsController implements Initializable {
     private ObservableList<Medication> medicationsList;
     private FilteredList<Medication> filteredMedications;
     
+    // Undo/redo history for medication edits
+    private final UndoRedoManager undoManager = new UndoRedoManager();
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Initialize data structures
@@ -713,6 +719,17 @@ public class MedicationsController implements Initializable {
             loadMedicationsData();
          // Add the medication to the reminder dropdown
             reminderMedicationChoice.getItems().add(medication);
+            
+            // Record the addition so it can be undone
+            undoManager.record(new ActionCommand("Add medication",
+                () -> {
+                    medicationsBag.remove(medication);
+                    reminderMedicationChoice.getItems().remove(medication);
+                },
+                () -> {
+                    medicationsBag.add(medication);
+                    reminderMedicationChoice.getItems().add(medication);
+                }));
             // Show confirmation
             showAlert("Medication '" + medication.getName() + "' has been added");
         });
@@ -749,8 +766,11 @@ public class MedicationsController implements Initializable {
         
         if (selectedMedication != null) {
             // Toggle active state
-            boolean newState = !selectedMedication.isActive();
+            boolean oldState = selectedMedication.isActive();
+            boolean newState = !oldState;
             selectedMedication.setActive(newState);
+            undoManager.record(new FieldEditCommand<>(selectedMedication, "status",
+                Medication::setActive, oldState, newState));
             
             // Update the table
             medicationsTable.refresh();
@@ -774,7 +794,12 @@ public class MedicationsController implements Initializable {
         
         if (selectedMedication != null) {
             // Add a refill (in a real app, this might send a request to a provider)
-            selectedMedication.setRefillsRemaining(selectedMedication.getRefillsRemaining() + 1);
+            int oldRefills = selectedMedication.getRefillsRemaining();
+            selectedMedication.setRefillsRemaining(oldRefills + 1);
+            
+            // Repeated refill requests in quick succession are undone together
+            undoManager.record(new FieldEditCommand<>(selectedMedication, "refills",
+                Medication::setRefillsRemaining, oldRefills, oldRefills + 1));
             
             // Update the table
             medicationsTable.refresh();
@@ -795,6 +820,26 @@ public class MedicationsController implements Initializable {
         }
     }
     
+    /**
+     * Handles the undo button
+     */
+    @FXML
+    private void handleUndo() {
+        if (undoManager.undo()) {
+            loadMedicationsData();
+        }
+    }
+    
+    /**
+     * Handles the redo button
+     */
+    @FXML
+    private void handleRedo() {
+        if (undoManager.redo()) {
+            loadMedicationsData();
+        }
+    }
+    
     /**
      * Handles the add reminder button
      */
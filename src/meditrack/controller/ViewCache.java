@@ -0,0 +1,186 @@
+package meditrack.controller;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of loaded FXML views and their controllers
+ * Keeps the most recently used views so navigation does not re-parse FXML
+ * or rebuild the controller's data, evicting the least recently used view
+ * once the cache is full
+ */
+public class ViewCache {
+
+    /**
+     * A loaded view together with the controller created for it
+     */
+    public static class CachedView {
+        private final Parent view;
+        private final Object controller;
+
+        public CachedView(Parent view, Object controller) {
+            this.view = view;
+            this.controller = controller;
+        }
+
+        public Parent getView() {
+            return view;
+        }
+
+        public Object getController() {
+            return controller;
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private final int capacity;
+    private final Map<String, CachedView> views;
+    private final Map<String, URL> resolvedUrls = new HashMap<>();
+
+    /**
+     * Creates a view cache with the default capacity
+     */
+    public ViewCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a view cache holding at most the given number of views
+     * @param capacity The maximum number of cached views
+     */
+    public ViewCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("View cache capacity must be at least 1");
+        }
+        this.capacity = capacity;
+
+        // Access-ordered map so the eldest entry is the least recently used view
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedView> eldest) {
+                return size() > ViewCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached view for a view name, loading it if it is not cached
+     * @param viewName The name of the view, e.g. "Dashboard"
+     * @return The cached view, or null if no FXML file exists for the view
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public CachedView get(String viewName) throws IOException {
+        CachedView cached = views.get(viewName);
+
+        if (cached == null) {
+            cached = load(viewName);
+            if (cached != null) {
+                views.put(viewName, cached);
+            }
+        }
+
+        return cached;
+    }
+
+    /**
+     * Adds an already loaded view to the cache
+     * @param viewName The name of the view
+     * @param cachedView The loaded view and its controller
+     */
+    public void put(String viewName, CachedView cachedView) {
+        views.put(viewName, cachedView);
+    }
+
+    /**
+     * Tests whether a view is currently cached, without affecting its recency
+     * @param viewName The name of the view
+     * @return true if the view is cached
+     */
+    public boolean contains(String viewName) {
+        return views.containsKey(viewName);
+    }
+
+    /**
+     * Removes a view from the cache so it is reloaded on next use
+     * @param viewName The name of the view
+     */
+    public void invalidate(String viewName) {
+        views.remove(viewName);
+    }
+
+    /**
+     * Removes all views from the cache
+     */
+    public void clear() {
+        views.clear();
+    }
+
+    /**
+     * Gets the number of cached views
+     * @return The number of cached views
+     */
+    public int size() {
+        return views.size();
+    }
+
+    /**
+     * Parses the FXML file for a view and creates its controller
+     * Does not touch the cached views, so it is safe to call off the application thread
+     * @param viewName The name of the view
+     * @return The loaded view, or null if no FXML file exists for the view
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public CachedView load(String viewName) throws IOException {
+        URL url = resolveUrl(viewName);
+
+        if (url == null) {
+            return null;
+        }
+
+        FXMLLoader loader = new FXMLLoader(url);
+        Parent view = loader.load();
+        return new CachedView(view, loader.getController());
+    }
+
+    /**
+     * Finds the FXML file for a view, probing the file system only once per view
+     * Synchronized because views may be loaded from background preloader threads
+     * @param viewName The name of the view
+     * @return The URL of the FXML file, or null if it could not be found
+     * @throws IOException if the file path cannot be converted to a URL
+     */
+    private synchronized URL resolveUrl(String viewName) throws IOException {
+        if (resolvedUrls.containsKey(viewName)) {
+            return resolvedUrls.get(viewName);
+        }
+
+        // Try different paths to find the FXML file
+        String[] pathsToTry = {
+            "src/resources/fxml/" + viewName + "View.fxml",
+            "resources/fxml/" + viewName + "View.fxml",
+            "fxml/" + viewName + "View.fxml"
+        };
+
+        URL url = null;
+        for (String path : pathsToTry) {
+            File tempFile = new File(path);
+            if (tempFile.exists()) {
+                url = tempFile.toURI().toURL();
+                System.out.println("Found file at: " + path);
+                break;
+            }
+        }
+
+        resolvedUrls.put(viewName, url);
+
+        return url;
+    }
+}
@@ -0,0 +1,112 @@
+package meditrack.controller;
+
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Loads FXML views on background threads and hands them to the JavaFX
+ * application thread as they become ready
+ * Views are submitted in priority order, so the first view in the list is
+ * always the first to start loading
+ */
+public class ViewPreloader {
+    private static final int DEFAULT_THREAD_COUNT =
+        Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final ViewCache viewCache;
+    private final int threadCount;
+    private int remainingViews;
+
+    /**
+     * Creates a preloader that fills the given cache
+     * @param viewCache The cache that receives the loaded views
+     */
+    public ViewPreloader(ViewCache viewCache) {
+        this(viewCache, DEFAULT_THREAD_COUNT);
+    }
+
+    /**
+     * Creates a preloader that fills the given cache using a number of loader threads
+     * @param viewCache The cache that receives the loaded views
+     * @param threadCount The number of background loader threads
+     */
+    public ViewPreloader(ViewCache viewCache, int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        this.viewCache = viewCache;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Starts loading the given views in the background
+     * All callbacks are invoked on the JavaFX application thread
+     * @param viewNames The views to load, highest priority first
+     * @param onViewReady Called with the name of each view once it is in the cache
+     * @param onViewFailed Called with the name of each view that could not be loaded
+     * @param onComplete Called once every view has been loaded or has failed
+     */
+    public void preload(List<String> viewNames, Consumer<String> onViewReady,
+                        Consumer<String> onViewFailed, Runnable onComplete) {
+        remainingViews = viewNames.size();
+
+        if (remainingViews == 0) {
+            onComplete.run();
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "view-preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // The executor's queue is FIFO, so views start loading in priority order
+        for (String viewName : viewNames) {
+            executor.submit(() -> loadInBackground(viewName, onViewReady, onViewFailed, onComplete));
+        }
+
+        executor.shutdown();
+    }
+
+    /**
+     * Parses a view off the application thread and hands it over when ready
+     */
+    private void loadInBackground(String viewName, Consumer<String> onViewReady,
+                                  Consumer<String> onViewFailed, Runnable onComplete) {
+        ViewCache.CachedView loaded = null;
+        long startTime = System.nanoTime();
+
+        try {
+            loaded = viewCache.load(viewName);
+            System.out.println(String.format("Preloaded %s view in %.2f ms",
+                viewName, (System.nanoTime() - startTime) / 1e6));
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("Error preloading view " + viewName + ": " + e.getMessage());
+        }
+
+        ViewCache.CachedView readyView = loaded;
+        Platform.runLater(() -> {
+            // A view the user navigated to while it was preloading is already cached and on screen
+            if (readyView != null && !viewCache.contains(viewName)) {
+                viewCache.put(viewName, readyView);
+            }
+
+            if (readyView != null) {
+                onViewReady.accept(viewName);
+            } else {
+                onViewFailed.accept(viewName);
+            }
+
+            remainingViews--;
+            if (remainingViews == 0) {
+                onComplete.run();
+            }
+        });
+    }
+}
@@ -1,5 +1,9 @@
 package meditrack.datastructure.bag;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
 /**
  * A class of bags whose entries are stored in a fixed-size array.
  * @param <T> The type of objects the bag will contain
@@ -107,9 +111,61 @@ public final class ArrayBag<T> implements BagInterface<T> {
      * Removes all entries from this bag.
      */
     public void clear() {
-        while (!isEmpty()) {
-            remove();
+        checkIntegrity();
+        
+        // Clear references in one pass instead of removing entries one at a time
+        for (int index = 0; index < numberOfEntries; index++) {
+            bag[index] = null;
+        }
+        
+        numberOfEntries = 0;
+    }
+
+    /**
+     * Adds every entry of a given array to this bag in a single pass.
+     * Nothing is added if the entries do not all fit in the bag.
+     * @param newEntries The objects to be added as new entries.
+     * @return True if all the additions are successful, or false if not.
+     */
+    public boolean addAll(T[] newEntries) {
+        checkIntegrity();
+        boolean result = true;
+        
+        if (numberOfEntries + newEntries.length > bag.length) {
+            result = false;
         }
+        else {
+            System.arraycopy(newEntries, 0, bag, numberOfEntries, newEntries.length);
+            numberOfEntries += newEntries.length;
+        }
+        
+        return result;
+    }
+
+    /**
+     * Removes every entry of this bag that satisfies a given predicate.
+     * @param filter A predicate that returns true for entries to be removed.
+     * @return True if any entries were removed, or false if not.
+     */
+    public boolean removeIf(Predicate<? super T> filter) {
+        checkIntegrity();
+        return removeMatching(filter);
+    }
+
+    /**
+     * Retains only the entries of this bag that are also contained in another bag.
+     * @param otherBag The bag of entries to be retained.
+     * @return True if any entries were removed, or false if not.
+     */
+    public boolean retainAll(BagInterface<T> otherBag) {
+        checkIntegrity();
+        Set<T> entriesToKeep = new HashSet<>();
+        
+        for (T entry : otherBag.toArray()) {
+            entriesToKeep.add(entry);
+        }
+        
+        return removeMatching(entry -> !entriesToKeep.contains(entry));
     }
 
     /**
@@ -198,6 +254,34 @@ public final class ArrayBag<T> implements BagInterface<T> {
         return result;
     }
 
+    /**
+     * Removes all entries that satisfy a given predicate by compacting the
+     * remaining entries toward the front of the array in a single pass.
+     * @param filter A predicate that returns true for entries to be removed.
+     * @return True if any entries were removed, or false otherwise.
+     */
+    private boolean removeMatching(Predicate<? super T> filter) {
+        int keptCount = 0;
+        
+        for (int index = 0; index < numberOfEntries; index++) {
+            T entry = bag[index];
+            if (!filter.test(entry)) {
+                bag[keptCount] = entry;
+                keptCount++;
+            }
+        }
+        
+        // Remove references beyond the kept entries
+        for (int index = keptCount; index < numberOfEntries; index++) {
+            bag[index] = null;
+        }
+        
+        boolean removedAny = keptCount < numberOfEntries;
+        numberOfEntries = keptCount;
+        
+        return removedAny;
+    }
+
     /**
      * Returns true if the array bag is full, or false if not.
      */
@@ -1,5 +1,7 @@
 package meditrack.datastructure.bag;
 
+import java.util.function.Predicate;
+
 /**
  * An interface that describes the operations of a bag of objects.
  * @param <T> The type of objects the bag will contain
@@ -42,6 +44,27 @@ public interface BagInterface<T> {
      */
     public void clear();
 
+    /**
+     * Adds every entry of a given array to this bag in a single pass.
+     * @param newEntries The objects to be added as new entries.
+     * @return True if all the additions are successful, or false if not.
+     */
+    public boolean addAll(T[] newEntries);
+
+    /**
+     * Removes every entry of this bag that satisfies a given predicate.
+     * @param filter A predicate that returns true for entries to be removed.
+     * @return True if any entries were removed, or false if not.
+     */
+    public boolean removeIf(Predicate<? super T> filter);
+
+    /**
+     * Retains only the entries of this bag that are also contained in another bag.
+     * @param otherBag The bag of entries to be retained.
+     * @return True if any entries were removed, or false if not.
+     */
+    public boolean retainAll(BagInterface<T> otherBag);
+
     /**
      * Counts the number of times a given entry appears in this bag.
      * @param anEntry The entry to be counted.
@@ -1,6 +1,9 @@
 package meditrack.datastructure.bag;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * A class of bags whose entries are stored in a resizable array.
@@ -66,6 +69,24 @@ public final class ResizableArrayBag<T> implements BagInterface<T> {
         bag = Arrays.copyOf(bag, newLength);
     }
     
+    /**
+     * Grows the array bag once so that it can hold at least a given number of entries.
+     * @param requiredCapacity The number of entries the bag must be able to hold.
+     */
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity > bag.length) {
+            int newLength = Math.max(2 * bag.length, requiredCapacity);
+            
+            // Never grow past the maximum unless the entries actually need it
+            if (newLength > MAX_CAPACITY && requiredCapacity <= MAX_CAPACITY) {
+                newLength = MAX_CAPACITY;
+            }
+            
+            checkCapacity(newLength);
+            bag = Arrays.copyOf(bag, newLength);
+        }
+    }
+    
     @Override
     public int getCurrentSize() {
         return numberOfEntries;
@@ -136,6 +157,37 @@ public final class ResizableArrayBag<T> implements BagInterface<T> {
         numberOfEntries = 0;
     }
     
+    @Override
+    public boolean addAll(T[] newEntries) {
+        checkIntegrity();
+        
+        // Grow at most once for the whole batch
+        ensureCapacity(numberOfEntries + newEntries.length);
+        
+        System.arraycopy(newEntries, 0, bag, numberOfEntries, newEntries.length);
+        numberOfEntries += newEntries.length;
+        
+        return true;
+    }
+    
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        checkIntegrity();
+        return removeMatching(filter);
+    }
+    
+    @Override
+    public boolean retainAll(BagInterface<T> otherBag) {
+        checkIntegrity();
+        Set<T> entriesToKeep = new HashSet<>();
+        
+        for (T entry : otherBag.toArray()) {
+            entriesToKeep.add(entry);
+        }
+        
+        return removeMatching(entry -> !entriesToKeep.contains(entry));
+    }
+    
     @Override
     public int getFrequencyOf(T anEntry) {
         checkIntegrity();
@@ -178,6 +230,34 @@ public final class ResizableArrayBag<T> implements BagInterface<T> {
         return numberOfEntries >= bag.length;
     }
     
+    /**
+     * Removes all entries that satisfy a given predicate by compacting the
+     * remaining entries toward the front of the array in a single pass.
+     * @param filter A predicate that returns true for entries to be removed.
+     * @return True if any entries were removed, or false otherwise.
+     */
+    private boolean removeMatching(Predicate<? super T> filter) {
+        int keptCount = 0;
+        
+        for (int index = 0; index < numberOfEntries; index++) {
+            T entry = bag[index];
+            if (!filter.test(entry)) {
+                bag[keptCount] = entry;
+                keptCount++;
+            }
+        }
+        
+        // Clear references beyond the kept entries to help garbage collection
+        for (int index = keptCount; index < numberOfEntries; index++) {
+            bag[index] = null;
+        }
+        
+        boolean removedAny = keptCount < numberOfEntries;
+        numberOfEntries = keptCount;
+        
+        return removedAny;
+    }
+    
     /**
      * Locates a given entry within the array bag.
      * @param anEntry The entry to be found.
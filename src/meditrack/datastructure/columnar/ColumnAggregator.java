@@ -0,0 +1,59 @@
+package meditrack.datastructure.columnar;
+
+/**
+ * Aggregation kernels over the primitive columns of a ColumnarExpenseStore.
+ * Every kernel reads the first length entries of the arrays it is given and
+ * sums in exact long arithmetic, so all implementations return identical
+ * results and differ only in how fast they get there.
+ */
+public interface ColumnAggregator {
+
+    /**
+     * Sums a column.
+     * @param values The column.
+     * @param length The number of rows to read.
+     * @return The sum.
+     */
+    long sum(long[] values, int length);
+
+    /**
+     * Sums the rows of a column whose day falls in a range.
+     * @param values The column.
+     * @param epochDays The day of each row.
+     * @param length The number of rows to read.
+     * @param fromDay The first day of the range, inclusive.
+     * @param toDay The last day of the range, inclusive.
+     * @return The sum of the rows in the range.
+     */
+    long sumInRange(long[] values, int[] epochDays, int length, int fromDay, int toDay);
+
+    /**
+     * Counts the rows whose day falls in a range.
+     * @param epochDays The day of each row.
+     * @param length The number of rows to read.
+     * @param fromDay The first day of the range, inclusive.
+     * @param toDay The last day of the range, inclusive.
+     * @return The number of rows in the range.
+     */
+    int countInRange(int[] epochDays, int length, int fromDay, int toDay);
+
+    /**
+     * Sums and counts the rows whose day falls in a range by category.
+     * @param values The column.
+     * @param categories The category ordinal of each row; every ordinal must be below totals.length.
+     * @param epochDays The day of each row.
+     * @param length The number of rows to read.
+     * @param fromDay The first day of the range, inclusive.
+     * @param toDay The last day of the range, inclusive.
+     * @param totals Receives the sum of each category, indexed by ordinal; added to.
+     * @param counts Receives the number of rows of each category, indexed by ordinal; added to.
+     */
+    void sumByCategory(long[] values, byte[] categories, int[] epochDays, int length,
+                       int fromDay, int toDay, long[] totals, long[] counts);
+
+    /**
+     * Gets a short name for the implementation, for logs and benchmarks.
+     * @return The name.
+     */
+    String getName();
+}
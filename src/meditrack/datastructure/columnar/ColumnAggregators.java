@@ -0,0 +1,58 @@
+package meditrack.datastructure.columnar;
+
+/**
+ * Chooses the column aggregation kernels for this JVM.
+ * The Vector API kernels are used when they were compiled from the src-vector
+ * source root, the jdk.incubator.vector module has been added to the boot
+ * layer (--add-modules jdk.incubator.vector) and the CPU has a usable vector
+ * shape. Otherwise the scalar kernels are used, so the store works the same
+ * on any JVM, only slower.
+ */
+public final class ColumnAggregators {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_AGGREGATOR = "meditrack.datastructure.columnar.VectorColumnAggregator";
+
+    private static final ColumnAggregator SCALAR = new ScalarColumnAggregator();
+    private static final ColumnAggregator VECTOR = loadVectorAggregator();
+
+    private ColumnAggregators() {
+    }
+
+    /**
+     * Gets the fastest aggregator available.
+     * @return The vector aggregator if available, otherwise the scalar aggregator.
+     */
+    public static ColumnAggregator preferred() {
+        return VECTOR != null ? VECTOR : SCALAR;
+    }
+
+    /**
+     * Gets the scalar aggregator, which is always available.
+     * @return The scalar aggregator.
+     */
+    public static ColumnAggregator scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * Gets the Vector API aggregator.
+     * @return The vector aggregator, or null if the Vector API is not available.
+     */
+    public static ColumnAggregator vector() {
+        return VECTOR;
+    }
+
+    /**
+     * Loads the vector kernels by name, so this class compiles and links without them
+     */
+    private static ColumnAggregator loadVectorAggregator() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (ColumnAggregator) Class.forName(VECTOR_AGGREGATOR).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package meditrack.datastructure.columnar;
+
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expenses stored column by column in primitive arrays.
+ * Each field used by the analytics has its own array: the date as an epoch
+ * day, the amount and reimbursed amount in cents, the category ordinal, and
+ * the provider as an id into a dictionary of provider names. A scan reads
+ * only the columns it needs, sequentially, with no per-expense objects to
+ * follow. The text fields that only the UI needs are kept in their own
+ * columns, and row views present a row as an expense for display.
+ * The sums and counts run on a ColumnAggregator, which uses the Vector
+ * API when it is available and plain loops otherwise.
+ * Removing a row moves the last row into its place, so removal is O(1)
+ * but does not preserve row order.
+ * The store is not synchronized.
+ */
+public class ColumnarExpenseStore {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+
+    private int[] epochDays;
+    private long[] amountCents;
+    private long[] reimbursedCents;
+    private byte[] categories;
+    private int[] providerIds;
+    private String[] ids;
+    private String[] descriptions;
+    private int numberOfRows;
+    private ColumnAggregator aggregator;
+
+    private final Map<String, Integer> rowsById;
+    private final List<String> providerNames;
+    private final Map<String, Integer> providerIdsByName;
+
+    /**
+     * Creates an empty store.
+     */
+    public ColumnarExpenseStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for a number of rows.
+     * @param initialCapacity The number of rows to allocate space for.
+     */
+    public ColumnarExpenseStore(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be at least 1: " + initialCapacity);
+        }
+        epochDays = new int[initialCapacity];
+        amountCents = new long[initialCapacity];
+        reimbursedCents = new long[initialCapacity];
+        categories = new byte[initialCapacity];
+        providerIds = new int[initialCapacity];
+        ids = new String[initialCapacity];
+        descriptions = new String[initialCapacity];
+        rowsById = new HashMap<>();
+        providerNames = new ArrayList<>();
+        providerIdsByName = new HashMap<>();
+        aggregator = ColumnAggregators.preferred();
+    }
+
+    /**
+     * Adds an expense as a new row, or overwrites its row if the expense is already stored.
+     * @param expense The expense to add.
+     * @return The row of the expense.
+     */
+    public int add(MedicalExpense expense) {
+        Integer existing = rowsById.get(expense.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            ensureCapacity(numberOfRows + 1);
+            row = numberOfRows++;
+            rowsById.put(expense.getId(), row);
+        }
+        write(row, expense);
+        return row;
+    }
+
+    /**
+     * Rewrites the row of an edited expense with its current values.
+     * @param expense The edited expense.
+     * @return The row of the expense, or -1 if it is not stored.
+     */
+    public int update(MedicalExpense expense) {
+        Integer row = rowsById.get(expense.getId());
+        if (row == null) {
+            return -1;
+        }
+        write(row, expense);
+        return row;
+    }
+
+    /**
+     * Removes an expense's row, moving the last row into its place.
+     * @param expense The expense to remove.
+     * @return True if the expense was stored, or false if not.
+     */
+    public boolean remove(MedicalExpense expense) {
+        Integer row = rowsById.remove(expense.getId());
+        if (row == null) {
+            return false;
+        }
+
+        int last = --numberOfRows;
+        if (row != last) {
+            epochDays[row] = epochDays[last];
+            amountCents[row] = amountCents[last];
+            reimbursedCents[row] = reimbursedCents[last];
+            categories[row] = categories[last];
+            providerIds[row] = providerIds[last];
+            ids[row] = ids[last];
+            descriptions[row] = descriptions[last];
+            rowsById.put(ids[row], row);
+        }
+        ids[last] = null;
+        descriptions[last] = null;
+        return true;
+    }
+
+    /**
+     * Replaces the contents of the store with the given expenses.
+     * @param expenses The expenses to store.
+     */
+    public void rebuild(Iterable<? extends MedicalExpense> expenses) {
+        clear();
+        for (MedicalExpense expense : expenses) {
+            add(expense);
+        }
+    }
+
+    /**
+     * Removes all rows; the provider dictionary is kept.
+     */
+    public void clear() {
+        Arrays.fill(ids, 0, numberOfRows, null);
+        Arrays.fill(descriptions, 0, numberOfRows, null);
+        rowsById.clear();
+        numberOfRows = 0;
+    }
+
+    /**
+     * Gets the row of an expense.
+     * @param expense The expense.
+     * @return The row, or -1 if the expense is not stored.
+     */
+    public int indexOf(MedicalExpense expense) {
+        Integer row = rowsById.get(expense.getId());
+        return row == null ? -1 : row;
+    }
+
+    /**
+     * Gets the number of rows in the store.
+     * @return The number of rows.
+     */
+    public int size() {
+        return numberOfRows;
+    }
+
+    /**
+     * Gets a view of one row.
+     * @param row The row, from 0 to size() - 1.
+     * @return The row view.
+     */
+    public Row row(int row) {
+        checkRow(row);
+        return new Row(row);
+    }
+
+    /**
+     * Gets a list view of all rows, for display.
+     * @return The read-only list view; it reflects later changes to the store.
+     */
+    public List<Row> rows() {
+        return new AbstractList<Row>() {
+            @Override
+            public Row get(int index) {
+                return row(index);
+            }
+
+            @Override
+            public int size() {
+                return numberOfRows;
+            }
+        };
+    }
+
+    /**
+     * Sums the amounts of the rows in a date range.
+     * @param startDate The start of the range, inclusive, or null for no lower bound.
+     * @param endDate The end of the range, inclusive, or null for no upper bound.
+     * @return The total amount, in cents.
+     */
+    public long sumAmountCents(LocalDate startDate, LocalDate endDate) {
+        return sumInRange(amountCents, startDate, endDate);
+    }
+
+    /**
+     * Sums the reimbursed amounts of the rows in a date range.
+     * @param startDate The start of the range, inclusive, or null for no lower bound.
+     * @param endDate The end of the range, inclusive, or null for no upper bound.
+     * @return The total reimbursed amount, in cents.
+     */
+    public long sumReimbursedCents(LocalDate startDate, LocalDate endDate) {
+        return sumInRange(reimbursedCents, startDate, endDate);
+    }
+
+    /**
+     * Counts the rows in a date range.
+     * @param startDate The start of the range, inclusive, or null for no lower bound.
+     * @param endDate The end of the range, inclusive, or null for no upper bound.
+     * @return The number of rows.
+     */
+    public int count(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return numberOfRows;
+        }
+        return aggregator.countInRange(epochDays, numberOfRows, fromDay(startDate), toDay(endDate));
+    }
+
+    /**
+     * Sums the amounts of the rows in a date range by category.
+     * @param startDate The start of the range, inclusive, or null for no lower bound.
+     * @param endDate The end of the range, inclusive, or null for no upper bound.
+     * @param totalCents Receives the total of each category in cents, indexed by ordinal; added to.
+     * @param counts Receives the number of rows of each category, indexed by ordinal; added to.
+     */
+    public void sumByCategory(LocalDate startDate, LocalDate endDate, long[] totalCents, long[] counts) {
+        if (totalCents.length < CATEGORIES.length || counts.length < CATEGORIES.length) {
+            throw new IllegalArgumentException("Arrays must have one slot per category");
+        }
+        aggregator.sumByCategory(amountCents, categories, epochDays, numberOfRows,
+            fromDay(startDate), toDay(endDate), totalCents, counts);
+    }
+
+    /**
+     * Sums the amounts of all rows by provider.
+     * @return The total of each provider in cents, indexed by provider id.
+     */
+    public long[] sumByProvider() {
+        long[] totals = new long[providerNames.size()];
+        for (int i = 0; i < numberOfRows; i++) {
+            totals[providerIds[i]] += amountCents[i];
+        }
+        return totals;
+    }
+
+    /**
+     * Finds the rows in a date range.
+     * @param startDate The start of the range, inclusive, or null for no lower bound.
+     * @param endDate The end of the range, inclusive, or null for no upper bound.
+     * @return The matching rows, in row order.
+     */
+    public int[] findRowsInRange(LocalDate startDate, LocalDate endDate) {
+        int from = fromDay(startDate);
+        int to = toDay(endDate);
+        int[] rows = new int[numberOfRows];
+        int found = 0;
+        for (int i = 0; i < numberOfRows; i++) {
+            int day = epochDays[i];
+            if (day >= from && day <= to) {
+                rows[found++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    /**
+     * Gets the name of a provider in the dictionary.
+     * @param providerId The provider id.
+     * @return The provider name.
+     */
+    public String getProviderName(int providerId) {
+        return providerNames.get(providerId);
+    }
+
+    /**
+     * Gets the number of distinct providers in the dictionary.
+     * @return The number of providers.
+     */
+    public int getProviderCount() {
+        return providerNames.size();
+    }
+
+    /**
+     * Gets the aggregator the scans run on.
+     * @return The aggregator.
+     */
+    public ColumnAggregator getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * Sets the aggregator the scans run on, such as ColumnAggregators.scalar() to compare against.
+     * @param aggregator The aggregator.
+     */
+    public void setAggregator(ColumnAggregator aggregator) {
+        if (aggregator == null) {
+            throw new IllegalArgumentException("Aggregator must not be null");
+        }
+        this.aggregator = aggregator;
+    }
+
+    private long sumInRange(long[] column, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return aggregator.sum(column, numberOfRows);
+        }
+        return aggregator.sumInRange(column, epochDays, numberOfRows, fromDay(startDate), toDay(endDate));
+    }
+
+    private void write(int row, MedicalExpense expense) {
+        epochDays[row] = Math.toIntExact(expense.getDate().toEpochDay());
+        amountCents[row] = expense.getAmountCents();
+        reimbursedCents[row] = expense.getReimbursedCents();
+        categories[row] = (byte) expense.getCategory().ordinal();
+        providerIds[row] = providerId(expense.getProvider());
+        ids[row] = expense.getId();
+        descriptions[row] = expense.getDescription();
+    }
+
+    /**
+     * Looks up a provider's dictionary id, adding the provider if it is new
+     */
+    private int providerId(String provider) {
+        Integer id = providerIdsByName.get(provider);
+        if (id == null) {
+            id = providerNames.size();
+            providerNames.add(provider);
+            providerIdsByName.put(provider, id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= epochDays.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, epochDays.length * 2);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        amountCents = Arrays.copyOf(amountCents, newCapacity);
+        reimbursedCents = Arrays.copyOf(reimbursedCents, newCapacity);
+        categories = Arrays.copyOf(categories, newCapacity);
+        providerIds = Arrays.copyOf(providerIds, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= numberOfRows) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + numberOfRows);
+        }
+    }
+
+    private static int fromDay(LocalDate startDate) {
+        return startDate == null ? Integer.MIN_VALUE : Math.toIntExact(startDate.toEpochDay());
+    }
+
+    private static int toDay(LocalDate endDate) {
+        return endDate == null ? Integer.MAX_VALUE : Math.toIntExact(endDate.toEpochDay());
+    }
+
+    /**
+     * A view of one row, reading its values from the columns
+     * The view refers to a row position, so after a removal moves another
+     * row into that position the view shows the moved row.
+     */
+    public final class Row {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        public int getIndex() {
+            return row;
+        }
+
+        public String getId() {
+            return ids[row];
+        }
+
+        public String getDescription() {
+            return descriptions[row];
+        }
+
+        public LocalDate getDate() {
+            return LocalDate.ofEpochDay(epochDays[row]);
+        }
+
+        public ExpenseCategory getCategory() {
+            return CATEGORIES[categories[row]];
+        }
+
+        public String getProvider() {
+            return providerNames.get(providerIds[row]);
+        }
+
+        public long getAmountCents() {
+            return amountCents[row];
+        }
+
+        public double getAmount() {
+            return Money.toDollars(amountCents[row]);
+        }
+
+        public long getReimbursedCents() {
+            return reimbursedCents[row];
+        }
+
+        public double getReimbursedAmount() {
+            return Money.toDollars(reimbursedCents[row]);
+        }
+
+        public long getOutOfPocketCents() {
+            return amountCents[row] - reimbursedCents[row];
+        }
+
+        public double getOutOfPocketCost() {
+            return Money.toDollars(getOutOfPocketCents());
+        }
+
+        /**
+         * Creates a new expense with the row's values, for code that needs a MedicalExpense
+         * The copy has its own id.
+         * @return The new expense.
+         */
+        public MedicalExpense toExpense() {
+            MedicalExpense expense = new MedicalExpense(getDescription(), 0, getDate(), getCategory(), getProvider());
+            expense.setAmountCents(getAmountCents());
+            expense.setReimbursedCents(getReimbursedCents());
+            return expense;
+        }
+    }
+}
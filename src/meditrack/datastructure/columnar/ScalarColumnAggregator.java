@@ -0,0 +1,64 @@
+package meditrack.datastructure.columnar;
+
+/**
+ * Column aggregation with plain loops, one row at a time.
+ * This is the fallback when the Vector API is not available. The range
+ * tests are written without branches, so the loops run at the same speed
+ * however the days of the rows are distributed.
+ */
+final class ScalarColumnAggregator implements ColumnAggregator {
+
+    @Override
+    public long sum(long[] values, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sumInRange(long[] values, int[] epochDays, int length, int fromDay, int toDay) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += inRange(epochDays[i], fromDay, toDay) & values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int countInRange(int[] epochDays, int length, int fromDay, int toDay) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count -= (int) inRange(epochDays[i], fromDay, toDay);
+        }
+        return count;
+    }
+
+    @Override
+    public void sumByCategory(long[] values, byte[] categories, int[] epochDays, int length,
+                              int fromDay, int toDay, long[] totals, long[] counts) {
+        for (int i = 0; i < length; i++) {
+            long mask = inRange(epochDays[i], fromDay, toDay);
+            int category = categories[i];
+            totals[category] += mask & values[i];
+            counts[category] -= mask;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    /**
+     * Tests a day against a range without branching
+     * @return All ones (-1) if the day is in the range, or 0 if not
+     */
+    private static long inRange(int day, int fromDay, int toDay) {
+        // (day - from) and (to - day) are both non-negative exactly when the day is in range
+        long below = (long) day - fromDay;
+        long above = (long) toDay - day;
+        return ~((below | above) >> 63);
+    }
+}
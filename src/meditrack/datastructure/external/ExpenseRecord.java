@@ -0,0 +1,184 @@
+package meditrack.datastructure.external;
+
+import meditrack.datastructure.sort.ExpenseSortKey;
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One line of an expense export, in the form sorted by ExternalMergeSort
+ * A line holds the date, category, amount, reimbursed amount, provider and
+ * description as comma-separated values. Text fields are quoted when they
+ * contain commas or quotes, and line breaks in them are written as spaces.
+ * Records order by date, then category, amount, provider, description and
+ * reimbursed amount, so two records compare equal exactly when they
+ * describe the same expense.
+ */
+public final class ExpenseRecord implements Comparable<ExpenseRecord> {
+    private static final int FIELD_COUNT = 6;
+
+    private final LocalDate date;
+    private final ExpenseCategory category;
+    private final long amountCents;
+    private final long reimbursedCents;
+    private final String provider;
+    private final String description;
+
+    private ExpenseRecord(LocalDate date, ExpenseCategory category, long amountCents,
+                          long reimbursedCents, String provider, String description) {
+        this.date = date;
+        this.category = category;
+        this.amountCents = amountCents;
+        this.reimbursedCents = reimbursedCents;
+        this.provider = provider;
+        this.description = description;
+    }
+
+    /**
+     * Creates the export record of an expense
+     * @param expense The expense
+     * @return The record
+     */
+    public static ExpenseRecord of(MedicalExpense expense) {
+        return new ExpenseRecord(expense.getDate(), expense.getCategory(),
+            expense.getAmountCents(), expense.getReimbursedCents(),
+            expense.getProvider(), expense.getDescription());
+    }
+
+    /**
+     * Parses a line of an expense export
+     * @param line The line
+     * @return The record
+     * @throws IllegalArgumentException If the line is not a valid expense record
+     */
+    public static ExpenseRecord parse(String line) {
+        List<String> fields = splitFields(line);
+        if (fields.size() != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields but found "
+                + fields.size() + ": " + line);
+        }
+
+        try {
+            return new ExpenseRecord(
+                LocalDate.parse(fields.get(0)),
+                ExpenseCategory.valueOf(fields.get(1)),
+                Money.parse(fields.get(2)),
+                Money.parse(fields.get(3)),
+                fields.get(4),
+                fields.get(5));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid expense record: " + line, e);
+        }
+    }
+
+    /**
+     * Formats the record as a line of an expense export
+     * @return The line, without a line terminator
+     */
+    public String toLine() {
+        return date + "," + category.name() + "," + formatCents(amountCents) + ","
+            + formatCents(reimbursedCents) + "," + quote(provider) + "," + quote(description);
+    }
+
+    /**
+     * Creates an expense from the record
+     * @return A new expense with the record's values
+     */
+    public MedicalExpense toExpense() {
+        MedicalExpense expense = new MedicalExpense(description, 0, date, category, provider);
+        expense.setAmountCents(amountCents);
+        expense.setReimbursedCents(reimbursedCents);
+        return expense;
+    }
+
+    @Override
+    public int compareTo(ExpenseRecord other) {
+        int cmp = date.compareTo(other.date);
+        if (cmp == 0) {
+            cmp = Integer.compare(ExpenseSortKey.categoryRank(category), ExpenseSortKey.categoryRank(other.category));
+        }
+        if (cmp == 0) {
+            cmp = Long.compare(amountCents, other.amountCents);
+        }
+        if (cmp == 0) {
+            cmp = provider.compareTo(other.provider);
+        }
+        if (cmp == 0) {
+            cmp = description.compareTo(other.description);
+        }
+        if (cmp == 0) {
+            cmp = Long.compare(reimbursedCents, other.reimbursedCents);
+        }
+        return cmp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return compareTo((ExpenseRecord) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, category, amountCents, reimbursedCents, provider, description);
+    }
+
+    @Override
+    public String toString() {
+        return toLine();
+    }
+
+    private static String formatCents(long cents) {
+        String sign = cents < 0 ? "-" : "";
+        long magnitude = Math.abs(cents);
+        return String.format("%s%d.%02d", sign, magnitude / 100, magnitude % 100);
+    }
+
+    private static String quote(String value) {
+        // A record must stay on one line
+        value = value.replace('\n', ' ').replace('\r', ' ');
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Splits a line into fields, honouring quoted fields with doubled quotes
+     */
+    private static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>(FIELD_COUNT);
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,419 @@
+package meditrack.datastructure.external;
+
+import meditrack.datastructure.sort.SortingAlgorithm;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Sorts a line-oriented record file that may be larger than memory
+ * The input is read in chunks that fit a share of the memory budget. Each
+ * chunk is parsed, sorted in memory with one of the package's sorting
+ * algorithms and spilled to a temporary run file; chunks are sorted on
+ * several threads while the next chunk is being read. The sorted runs are
+ * then merged with a k-way heap merge, in several passes if there are more
+ * runs than can be open at once. Records that compare equal can be dropped
+ * as duplicates, both within runs and while merging.
+ * All files are read and written through buffered NIO file channels.
+ * @param <T> The type of records to be sorted
+ */
+public class ExternalMergeSort<T extends Comparable<? super T>> {
+    private static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024; // 64 MB
+    private static final long MIN_MEMORY_BUDGET = 1024 * 1024; // 1 MB
+    private static final int DEFAULT_PARALLELISM =
+        Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final int MAX_MERGE_FAN_IN = 64;
+    private static final int MIN_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_BUFFER_SIZE = 1024 * 1024;
+    // Rough heap cost of a record beyond the characters of its line
+    private static final int RECORD_OVERHEAD_BYTES = 128;
+
+    private final Function<String, T> parser;
+    private final Function<? super T, String> formatter;
+    private final Supplier<? extends SortingAlgorithm<T>> algorithmFactory;
+    private final long memoryBudget;
+    private final int parallelism;
+    private final Path tempDirectory;
+
+    private int runCount;
+    private int mergePassCount;
+
+    /**
+     * Creates an external sort with the default memory budget and parallelism
+     * that keeps its temporary files in the system temporary directory
+     * @param parser Converts a line of the file into a record
+     * @param formatter Converts a record into a line of the file
+     * @param algorithmFactory Creates the algorithm that sorts each run; one is created per run
+     */
+    public ExternalMergeSort(Function<String, T> parser, Function<? super T, String> formatter,
+                             Supplier<? extends SortingAlgorithm<T>> algorithmFactory) {
+        this(parser, formatter, algorithmFactory, DEFAULT_MEMORY_BUDGET, DEFAULT_PARALLELISM,
+             Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Creates an external sort with the given limits
+     * @param parser Converts a line of the file into a record
+     * @param formatter Converts a record into a line of the file
+     * @param algorithmFactory Creates the algorithm that sorts each run; one is created per run
+     * @param memoryBudget The approximate number of bytes of records held in memory at once
+     * @param parallelism The number of runs sorted at the same time
+     * @param tempDirectory The directory that holds the temporary run files
+     */
+    public ExternalMergeSort(Function<String, T> parser, Function<? super T, String> formatter,
+                             Supplier<? extends SortingAlgorithm<T>> algorithmFactory,
+                             long memoryBudget, int parallelism, Path tempDirectory) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Memory budget must be at least " + MIN_MEMORY_BUDGET + " bytes");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+
+        this.parser = parser;
+        this.formatter = formatter;
+        this.algorithmFactory = algorithmFactory;
+        this.memoryBudget = memoryBudget;
+        this.parallelism = parallelism;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sorts the records of a file into another file
+     * @param input The file to sort, one record per line
+     * @param output The file that receives the sorted records; it is replaced if it exists
+     * @param removeDuplicates True to keep only the first of any records that compare equal
+     * @return The number of records written
+     * @throws IOException If a file cannot be read or written
+     */
+    public long sort(Path input, Path output, boolean removeDuplicates) throws IOException {
+        List<Path> tempFiles = new ArrayList<>();
+        List<Path> runs = new ArrayList<>();
+        mergePassCount = 0;
+
+        try {
+            generateRuns(input, runs, removeDuplicates);
+            runCount = runs.size();
+
+            // Merge groups of runs into longer runs until one pass can finish the job
+            while (runs.size() > MAX_MERGE_FAN_IN) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += MAX_MERGE_FAN_IN) {
+                    List<Path> group = runs.subList(i, Math.min(i + MAX_MERGE_FAN_IN, runs.size()));
+                    Path run = createRunFile();
+                    tempFiles.add(run);
+                    merged.add(run);
+                    merge(group, run, removeDuplicates);
+                    deleteAll(group);
+                }
+                runs = merged;
+                mergePassCount++;
+            }
+
+            mergePassCount++;
+            return merge(runs, output, removeDuplicates);
+        } finally {
+            deleteAll(runs);
+            deleteAll(tempFiles);
+        }
+    }
+
+    /**
+     * Gets the number of sorted runs the last sort spilled to disk
+     * @return The number of initial runs
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Gets the number of merge passes the last sort made over its runs
+     * @return The number of merge passes
+     */
+    public int getMergePassCount() {
+        return mergePassCount;
+    }
+
+    /**
+     * Reads the input in chunks and sorts each chunk into a run file on a worker thread
+     * @param runs Receives the run files, in the order of their chunks
+     */
+    private void generateRuns(Path input, List<Path> runs, boolean removeDuplicates) throws IOException {
+        // One chunk is being read while up to parallelism chunks are being sorted
+        long chunkBudget = memoryBudget / (parallelism + 1);
+        Semaphore chunksInFlight = new Semaphore(parallelism);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "external-sort-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> pending = new ArrayList<>();
+
+        try (BufferedReader reader = openReader(input, bufferSize(chunkBudget))) {
+            List<String> chunk = new ArrayList<>();
+            long chunkBytes = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                chunk.add(line);
+                chunkBytes += 2L * line.length() + RECORD_OVERHEAD_BYTES;
+
+                if (chunkBytes >= chunkBudget) {
+                    pending.add(submitRun(executor, chunksInFlight, chunk, runs, removeDuplicates));
+                    chunk = new ArrayList<>();
+                    chunkBytes = 0;
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                pending.add(submitRun(executor, chunksInFlight, chunk, runs, removeDuplicates));
+            }
+
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sorting runs", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException("Failed to sort a run", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Hands a chunk to a worker once fewer than parallelism chunks are being sorted
+     */
+    private Future<?> submitRun(ExecutorService executor, Semaphore chunksInFlight, List<String> chunk,
+                                List<Path> runs, boolean removeDuplicates) throws IOException, InterruptedException {
+        // Reserve the run file now, so runs keep the input order and stable sorts stay stable
+        Path run = createRunFile();
+        runs.add(run);
+
+        chunksInFlight.acquire();
+        return executor.submit(() -> {
+            try {
+                sortRun(chunk, run, removeDuplicates);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                chunksInFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Parses, sorts and writes one chunk of lines
+     */
+    private void sortRun(List<String> lines, Path run, boolean removeDuplicates) throws IOException {
+        // The cast is safe because the array only holds parsed records
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        T[] records = (T[])new Comparable[lines.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = parser.apply(lines.get(i));
+        }
+        lines.clear();
+
+        algorithmFactory.get().sort(records);
+
+        try (BufferedWriter writer = openWriter(run, bufferSize(memoryBudget / (parallelism + 1)))) {
+            T previous = null;
+            for (T record : records) {
+                if (removeDuplicates && previous != null && previous.compareTo(record) == 0) {
+                    continue;
+                }
+                writer.write(formatter.apply(record));
+                writer.newLine();
+                previous = record;
+            }
+        }
+    }
+
+    /**
+     * Merges sorted runs into one sorted file with a heap of run cursors
+     * @return The number of records written
+     */
+    private long merge(List<Path> runs, Path output, boolean removeDuplicates) throws IOException {
+        int bufferSize = bufferSize(memoryBudget / (runs.size() + 1));
+        RunCursorHeap<T> heap = new RunCursorHeap<>(runs.size());
+        List<BufferedReader> readers = new ArrayList<>();
+        long written = 0;
+
+        try (BufferedWriter writer = openWriter(output, bufferSize)) {
+            for (int i = 0; i < runs.size(); i++) {
+                BufferedReader reader = openReader(runs.get(i), bufferSize);
+                readers.add(reader);
+                String line = reader.readLine();
+                if (line != null) {
+                    heap.add(new RunCursor<>(parser.apply(line), i));
+                }
+            }
+
+            T previous = null;
+            while (!heap.isEmpty()) {
+                RunCursor<T> smallest = heap.peek();
+                T record = smallest.record;
+
+                if (!removeDuplicates || previous == null || previous.compareTo(record) != 0) {
+                    writer.write(formatter.apply(record));
+                    writer.newLine();
+                    written++;
+                    previous = record;
+                }
+
+                // Advance the run the record came from
+                String line = readers.get(smallest.run).readLine();
+                if (line == null) {
+                    heap.remove();
+                } else {
+                    smallest.record = parser.apply(line);
+                    heap.replaceTop();
+                }
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+
+        return written;
+    }
+
+    private Path createRunFile() throws IOException {
+        return Files.createTempFile(tempDirectory, "meditrack-run-", ".tmp");
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static int bufferSize(long share) {
+        return (int) Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, share / 4));
+    }
+
+    private static BufferedReader openReader(Path file, int bufferSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private static BufferedWriter openWriter(Path file, int bufferSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    /**
+     * The current record of a run being merged
+     */
+    private static class RunCursor<T extends Comparable<? super T>> {
+        private T record;
+        private final int run;
+
+        RunCursor(T record, int run) {
+            this.record = record;
+            this.run = run;
+        }
+
+        /**
+         * Orders cursors by record, then by run, so equal records are merged in input order
+         */
+        int compareTo(RunCursor<T> other) {
+            int cmp = record.compareTo(other.record);
+            return cmp != 0 ? cmp : Integer.compare(run, other.run);
+        }
+    }
+
+    /**
+     * A min heap of run cursors with an in-place replacement of the top cursor
+     */
+    private static class RunCursorHeap<T extends Comparable<? super T>> {
+        private final RunCursor<T>[] heap;
+        private int numberOfEntries;
+
+        RunCursorHeap(int capacity) {
+            // The cast is safe because the new array contains null entries
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            RunCursor<T>[] tempHeap = (RunCursor<T>[])new RunCursor[Math.max(1, capacity)];
+            heap = tempHeap;
+        }
+
+        boolean isEmpty() {
+            return numberOfEntries == 0;
+        }
+
+        RunCursor<T> peek() {
+            return heap[0];
+        }
+
+        void add(RunCursor<T> cursor) {
+            int index = numberOfEntries++;
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap[parent].compareTo(cursor) <= 0) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = cursor;
+        }
+
+        void remove() {
+            numberOfEntries--;
+            heap[0] = heap[numberOfEntries];
+            heap[numberOfEntries] = null;
+            if (numberOfEntries > 0) {
+                replaceTop();
+            }
+        }
+
+        /**
+         * Restores the heap after the top cursor's record has changed
+         */
+        void replaceTop() {
+            RunCursor<T> cursor = heap[0];
+            int index = 0;
+            int child = 1;
+
+            while (child < numberOfEntries) {
+                if (child + 1 < numberOfEntries && heap[child + 1].compareTo(heap[child]) < 0) {
+                    child++;
+                }
+                if (cursor.compareTo(heap[child]) <= 0) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+                child = 2 * index + 1;
+            }
+            heap[index] = cursor;
+        }
+    }
+}
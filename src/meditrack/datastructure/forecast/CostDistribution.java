@@ -0,0 +1,122 @@
+package meditrack.datastructure.forecast;
+
+import meditrack.model.Money;
+
+import java.util.Arrays;
+
+/**
+ * The distribution of simulated costs over all trials of a CostSimulator run
+ * The trial results are kept sorted, in exact cents, so percentiles are
+ * exact order statistics and the mean is taken from an exact total.
+ * Histograms of any resolution can be drawn from them. Costs are converted
+ * to dollars only when they are returned.
+ */
+public final class CostDistribution {
+    private final long[] sortedCents;
+    private final long seed;
+    private final double mean;
+
+    CostDistribution(long[] costCents, long seed) {
+        long totalCents = 0;
+        for (long cents : costCents) {
+            totalCents = Money.add(totalCents, cents);
+        }
+        this.mean = Money.toDollars(totalCents) / costCents.length;
+        this.sortedCents = costCents;
+        this.seed = seed;
+        Arrays.parallelSort(sortedCents);
+    }
+
+    /**
+     * Gets a percentile of the simulated cost, interpolating linearly between trials
+     * @param percentile The percentile, from 0 to 100
+     * @return The cost at the percentile
+     */
+    public double getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        double rank = percentile / 100 * (sortedCents.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, sortedCents.length - 1);
+        double lowerCost = Money.toDollars(sortedCents[lower]);
+        return lowerCost + (rank - lower) * (Money.toDollars(sortedCents[upper]) - lowerCost);
+    }
+
+    /**
+     * Gets several percentiles of the simulated cost
+     * @param percentiles The percentiles, each from 0 to 100
+     * @return The costs at the percentiles, in the same order
+     */
+    public double[] getPercentiles(double... percentiles) {
+        double[] values = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            values[i] = getPercentile(percentiles[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Counts the trials in equal-width cost bins between two percentiles
+     * Trials below the lower percentile's cost go in the first bin and trials
+     * above the upper percentile's cost in the last, so every trial is counted.
+     * @param binCount The number of bins
+     * @param fromPercentile The percentile at the start of the first bin
+     * @param toPercentile The percentile at the end of the last bin
+     * @return The number of trials in each bin
+     */
+    public long[] getHistogram(int binCount, double fromPercentile, double toPercentile) {
+        if (binCount < 1) {
+            throw new IllegalArgumentException("Bin count must be at least 1: " + binCount);
+        }
+        if (fromPercentile > toPercentile) {
+            throw new IllegalArgumentException("Percentile range is reversed: " + fromPercentile + " > " + toPercentile);
+        }
+
+        double from = getPercentile(fromPercentile);
+        double width = (getPercentile(toPercentile) - from) / binCount;
+        long[] bins = new long[binCount];
+        for (long cents : sortedCents) {
+            int bin = width > 0 ? (int) ((Money.toDollars(cents) - from) / width) : 0;
+            bins[Math.max(0, Math.min(binCount - 1, bin))]++;
+        }
+        return bins;
+    }
+
+    /**
+     * Gets the lower edge of each bin of getHistogram, followed by the upper edge of the last bin
+     * @param binCount The number of bins
+     * @param fromPercentile The percentile at the start of the first bin
+     * @param toPercentile The percentile at the end of the last bin
+     * @return The binCount + 1 bin edges
+     */
+    public double[] getHistogramEdges(int binCount, double fromPercentile, double toPercentile) {
+        double from = getPercentile(fromPercentile);
+        double width = (getPercentile(toPercentile) - from) / binCount;
+        double[] edges = new double[binCount + 1];
+        for (int i = 0; i <= binCount; i++) {
+            edges[i] = from + i * width;
+        }
+        return edges;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMin() {
+        return Money.toDollars(sortedCents[0]);
+    }
+
+    public double getMax() {
+        return Money.toDollars(sortedCents[sortedCents.length - 1]);
+    }
+
+    public int getTrialCount() {
+        return sortedCents.length;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,325 @@
+package meditrack.datastructure.forecast;
+
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo simulation of future out-of-pocket cost, resampled from the expense history
+ * Each (category, calendar month) cell of the history supplies two
+ * samples: the number of expenses in each year's occurrence of that month,
+ * and the out-of-pocket amounts of those expenses. A trial walks through the
+ * simulated months and, for every category, draws a count and then that many
+ * amounts, so seasonality and the spread of both counts and amounts carry
+ * over into the simulated cost. A calendar month the history does not cover
+ * at all, as with less than a year of history, draws from every month of
+ * the category instead, so uncovered months are not simulated as free.
+ * As in ExpenseForecaster, only months that have ended are sampled: the
+ * month in progress holds only part of its expenses and would pull the
+ * counts down, so it is simulated instead, as the first month.
+ * Trials are grouped in fixed-size blocks, and each block gets its own
+ * SplittableRandom, split from the seeded root generator in block order
+ * before any trial runs. Blocks share no state and write to their own slots
+ * of the results, so a parallel run returns exactly the same distribution
+ * as a sequential run with the same seed.
+ */
+public class CostSimulator {
+    private static final int TRIALS_PER_BLOCK = 8192;
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a simulator that runs in the common fork/join pool
+     */
+    public CostSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a simulator that runs in a given pool
+     * @param pool The fork/join pool that runs the trials
+     */
+    public CostSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simulates the out-of-pocket cost of the current month and the months after it, running trials in parallel
+     * @param expenses The historical expenses
+     * @param months The number of months to simulate
+     * @param trials The number of trials
+     * @param seed The seed; the same seed and history give the same distribution
+     * @return The distribution of the simulated cost
+     */
+    public CostDistribution simulate(Iterable<MedicalExpense> expenses, int months, int trials, long seed) {
+        return simulate(expenses, months, trials, seed, LocalDate.now());
+    }
+
+    /**
+     * Simulates the out-of-pocket cost of the month containing a date and the months after it, running trials in parallel
+     * The history is sampled through the month before the date, with months
+     * that had no expenses counted as empty; that month and any later
+     * expenses are left out. If every expense falls in or after that month,
+     * all the expenses are sampled as they are.
+     * @param expenses The historical expenses
+     * @param months The number of months to simulate
+     * @param trials The number of trials
+     * @param seed The seed; the same seed, history and date give the same distribution
+     * @param asOf The date to simulate from; its month is treated as in progress
+     * @return The distribution of the simulated cost
+     */
+    public CostDistribution simulate(Iterable<MedicalExpense> expenses, int months, int trials, long seed,
+                                     LocalDate asOf) {
+        return run(expenses, months, trials, seed, asOf, true);
+    }
+
+    /**
+     * Simulates the out-of-pocket cost of the current month and the months after it on the calling thread
+     * @param expenses The historical expenses
+     * @param months The number of months to simulate
+     * @param trials The number of trials
+     * @param seed The seed; the same seed and history give the same distribution
+     * @return The distribution of the simulated cost
+     */
+    public CostDistribution simulateSequential(Iterable<MedicalExpense> expenses, int months, int trials, long seed) {
+        return simulateSequential(expenses, months, trials, seed, LocalDate.now());
+    }
+
+    /**
+     * Simulates the out-of-pocket cost of the month containing a date and the months after it on the calling thread
+     * @param expenses The historical expenses
+     * @param months The number of months to simulate
+     * @param trials The number of trials
+     * @param seed The seed; the same seed, history and date give the same distribution
+     * @param asOf The date to simulate from; its month is treated as in progress
+     * @return The distribution of the simulated cost
+     */
+    public CostDistribution simulateSequential(Iterable<MedicalExpense> expenses, int months, int trials, long seed,
+                                               LocalDate asOf) {
+        return run(expenses, months, trials, seed, asOf, false);
+    }
+
+    private CostDistribution run(Iterable<MedicalExpense> expenses, int months, int trials, long seed,
+                                 LocalDate asOf, boolean parallel) {
+        if (months < 1) {
+            throw new IllegalArgumentException("Months must be at least 1: " + months);
+        }
+        if (trials < 1) {
+            throw new IllegalArgumentException("Trials must be at least 1: " + trials);
+        }
+
+        Model model = Model.of(expenses, monthIndex(asOf));
+        long[] costs = new long[trials];
+
+        // Split every block's generator up front, in order, so no block depends on scheduling
+        int blockCount = (trials + TRIALS_PER_BLOCK - 1) / TRIALS_PER_BLOCK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            generators[b] = root.split();
+        }
+
+        SimulationTask task = new SimulationTask(model, months, generators, costs, 0, blockCount);
+        if (parallel) {
+            pool.invoke(task);
+        } else {
+            task.runBlocks();
+        }
+        return new CostDistribution(costs, seed);
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Runs a range of blocks, splitting it in halves down to single blocks
+     */
+    private static class SimulationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Model model;
+        private final int months;
+        private final SplittableRandom[] generators;
+        private final long[] costs; // Out-of-pocket cost of each trial, in cents
+        private final int fromBlock;
+        private final int toBlock;
+
+        SimulationTask(Model model, int months, SplittableRandom[] generators, long[] costs,
+                       int fromBlock, int toBlock) {
+            this.model = model;
+            this.months = months;
+            this.generators = generators;
+            this.costs = costs;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock <= 1) {
+                runBlocks();
+                return;
+            }
+            int mid = (fromBlock + toBlock) >>> 1;
+            invokeAll(new SimulationTask(model, months, generators, costs, fromBlock, mid),
+                new SimulationTask(model, months, generators, costs, mid, toBlock));
+        }
+
+        void runBlocks() {
+            for (int b = fromBlock; b < toBlock; b++) {
+                SplittableRandom random = generators[b];
+                int end = Math.min(costs.length, (b + 1) * TRIALS_PER_BLOCK);
+                for (int trial = b * TRIALS_PER_BLOCK; trial < end; trial++) {
+                    costs[trial] = model.runTrial(months, random);
+                }
+            }
+        }
+    }
+
+    /**
+     * The resampling pools of each (calendar month, category) cell
+     */
+    private static final class Model {
+        private static final int[] NO_COUNTS = {0};
+        private static final long[] NO_AMOUNTS = new long[0];
+
+        private final int startMonthOfYear; // 0-based calendar month of the first simulated month
+        private final int[][] counts; // [cell][occurrence] expenses in each occurrence of the month
+        private final long[][] amounts; // [cell][i] out-of-pocket amounts seen in the cell, in cents
+
+        private Model(int startMonthOfYear, int[][] counts, long[][] amounts) {
+            this.startMonthOfYear = startMonthOfYear;
+            this.counts = counts;
+            this.amounts = amounts;
+        }
+
+        /**
+         * Builds the pools from the months before a start month, or from every expense if none falls before it
+         */
+        static Model of(Iterable<MedicalExpense> expenses, int startMonth) {
+            int cellCount = 12 * CATEGORIES.length;
+            int startMonthOfYear = startMonth % 12;
+            List<MedicalExpense> history = new ArrayList<>();
+            List<MedicalExpense> inProgress = new ArrayList<>();
+            int first = Integer.MAX_VALUE;
+            for (MedicalExpense expense : expenses) {
+                int month = monthIndex(expense.getDate());
+                if (month >= startMonth) {
+                    inProgress.add(expense);
+                    continue;
+                }
+                history.add(expense);
+                first = Math.min(first, month);
+            }
+            // The history runs up to the start month, so months without expenses before it count as empty
+            int last = startMonth - 1;
+            if (history.isEmpty()) {
+                history = inProgress;
+                for (MedicalExpense expense : history) {
+                    int month = monthIndex(expense.getDate());
+                    first = Math.min(first, month);
+                    last = Math.max(last, month);
+                }
+            }
+
+            int[][] counts = new int[cellCount][];
+            long[][] amounts = new long[cellCount][];
+            if (history.isEmpty()) {
+                for (int cell = 0; cell < cellCount; cell++) {
+                    counts[cell] = NO_COUNTS;
+                    amounts[cell] = NO_AMOUNTS;
+                }
+                return new Model(startMonthOfYear, counts, amounts);
+            }
+
+            // Count the expenses of every cell and every category in every month of the history, including empty months
+            int span = last - first + 1;
+            int[][] monthlyCounts = new int[cellCount][span];
+            int[][] categoryMonthlyCounts = new int[CATEGORIES.length][span];
+            int[] amountCounts = new int[cellCount];
+            int[] categoryAmountCounts = new int[CATEGORIES.length];
+            for (MedicalExpense expense : history) {
+                int month = monthIndex(expense.getDate());
+                int cell = cell(month % 12, expense.getCategory());
+                monthlyCounts[cell][month - first]++;
+                categoryMonthlyCounts[expense.getCategory().ordinal()][month - first]++;
+                amountCounts[cell]++;
+                categoryAmountCounts[expense.getCategory().ordinal()]++;
+            }
+
+            int[] filled = new int[cellCount];
+            int[] categoryFilled = new int[CATEGORIES.length];
+            long[][] categoryAmounts = new long[CATEGORIES.length][];
+            for (int cell = 0; cell < cellCount; cell++) {
+                amounts[cell] = amountCounts[cell] == 0 ? NO_AMOUNTS : new long[amountCounts[cell]];
+            }
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                categoryAmounts[c] = categoryAmountCounts[c] == 0 ? NO_AMOUNTS : new long[categoryAmountCounts[c]];
+            }
+            for (MedicalExpense expense : history) {
+                int cell = cell(monthIndex(expense.getDate()) % 12, expense.getCategory());
+                int c = expense.getCategory().ordinal();
+                amounts[cell][filled[cell]++] = expense.getOutOfPocketCents();
+                categoryAmounts[c][categoryFilled[c]++] = expense.getOutOfPocketCents();
+            }
+
+            for (int monthOfYear = 0; monthOfYear < 12; monthOfYear++) {
+                // The months of the history that fall in this calendar month
+                int firstOccurrence = Math.floorMod(monthOfYear - first, 12);
+                int occurrences = firstOccurrence < span ? (span - firstOccurrence + 11) / 12 : 0;
+                for (ExpenseCategory category : CATEGORIES) {
+                    int cell = cell(monthOfYear, category);
+                    if (occurrences == 0) {
+                        // Never observed, so resample from every month of the category
+                        int c = category.ordinal();
+                        counts[cell] = categoryAmountCounts[c] == 0 ? NO_COUNTS : categoryMonthlyCounts[c];
+                        amounts[cell] = categoryAmounts[c];
+                        continue;
+                    }
+                    if (amountCounts[cell] == 0) {
+                        // Observed, and the category had no expenses in that month
+                        counts[cell] = NO_COUNTS;
+                        continue;
+                    }
+                    counts[cell] = new int[occurrences];
+                    for (int k = 0; k < occurrences; k++) {
+                        counts[cell][k] = monthlyCounts[cell][firstOccurrence + 12 * k];
+                    }
+                }
+            }
+            return new Model(startMonthOfYear, counts, amounts);
+        }
+
+        /**
+         * Draws the out-of-pocket cost of one simulated period, summed in exact cents
+         */
+        long runTrial(int months, SplittableRandom random) {
+            long cost = 0;
+            for (int m = 0; m < months; m++) {
+                int monthOfYear = (startMonthOfYear + m) % 12;
+                for (int c = 0; c < CATEGORIES.length; c++) {
+                    int cell = monthOfYear * CATEGORIES.length + c;
+                    int[] cellCounts = counts[cell];
+                    int count = cellCounts[cellCounts.length == 1 ? 0 : random.nextInt(cellCounts.length)];
+                    long[] cellAmounts = amounts[cell];
+                    for (int i = 0; i < count; i++) {
+                        cost += cellAmounts[random.nextInt(cellAmounts.length)];
+                    }
+                }
+            }
+            return cost;
+        }
+
+        private static int cell(int monthOfYear, ExpenseCategory category) {
+            return monthOfYear * CATEGORIES.length + category.ordinal();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package meditrack.datastructure.forecast;
+
+import meditrack.model.MedicalExpense.ExpenseCategory;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projected monthly expenses, in total and by category
+ */
+public final class ExpenseForecast {
+    private final List<Projection> total;
+    private final Map<ExpenseCategory, List<Projection>> byCategory;
+
+    ExpenseForecast(List<Projection> total, Map<ExpenseCategory, List<Projection>> byCategory) {
+        this.total = Collections.unmodifiableList(total);
+        this.byCategory = Collections.unmodifiableMap(new EnumMap<>(byCategory));
+    }
+
+    /**
+     * Gets the projections of the monthly total
+     * @return The projections, one per month, earliest first
+     */
+    public List<Projection> getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the projections of one category's monthly total
+     * @param category The category
+     * @return The projections, one per month, earliest first
+     */
+    public List<Projection> getCategory(ExpenseCategory category) {
+        return byCategory.get(category);
+    }
+
+    /**
+     * A projected monthly amount with its confidence band
+     */
+    public static final class Projection {
+        private final YearMonth month;
+        private final double amount;
+        private final double lower;
+        private final double upper;
+
+        Projection(YearMonth month, double amount, double lower, double upper) {
+            this.month = month;
+            this.amount = amount;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public double getLower() {
+            return lower;
+        }
+
+        public double getUpper() {
+            return upper;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.2f [%.2f, %.2f]", month, amount, lower, upper);
+        }
+    }
+}
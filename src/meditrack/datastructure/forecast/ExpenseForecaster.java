@@ -0,0 +1,97 @@
+package meditrack.datastructure.forecast;
+
+import meditrack.datastructure.forecast.ExpenseForecast.Projection;
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forecasts monthly expenses from their history
+ * The expenses are bucketed by month in one pass, and a Holt-Winters model
+ * is fitted to the monthly totals and to each category's monthly totals.
+ * Fitting needs no randomness, so the same expenses always give the same
+ * forecast. The models are fitted to the monthly buckets rather than to the
+ * expenses, so a few years of history forecast in a few milliseconds and the
+ * forecast can be recomputed whenever an expense changes.
+ * Only months that have ended are fitted. The month in progress holds only
+ * part of its expenses, and fitting that partial total as a full month would
+ * pull the level and trend down, so it is projected like the months after it.
+ */
+public final class ExpenseForecaster {
+    /**
+     * Two-sided 95% normal quantile, the width of the confidence bands in standard errors
+     */
+    public static final double CONFIDENCE_Z = 1.96;
+
+    private ExpenseForecaster() {
+    }
+
+    /**
+     * Forecasts the current month and the months after it from the months that have ended
+     * @param expenses The historical expenses
+     * @param monthsAhead The number of months to project
+     * @return The forecast; empty projections if there are no expenses
+     */
+    public static ExpenseForecast forecast(Iterable<MedicalExpense> expenses, int monthsAhead) {
+        return forecast(expenses, monthsAhead, LocalDate.now());
+    }
+
+    /**
+     * Forecasts the month containing a date and the months after it
+     * The history is fitted through the month before the date, with months
+     * that had no expenses counted as zero, so the month containing the date
+     * is always the first month projected. That month and any later expenses
+     * are left out of the fit. If every expense falls in or after that month
+     * there are no complete months to fit, so all the expenses are fitted as
+     * they are and the projection starts after the last of them.
+     * @param expenses The historical expenses
+     * @param monthsAhead The number of months to project
+     * @param asOf The date to forecast from; its month is treated as in progress
+     * @return The forecast; empty projections if there are no expenses
+     */
+    public static ExpenseForecast forecast(Iterable<MedicalExpense> expenses, int monthsAhead, LocalDate asOf) {
+        if (monthsAhead < 0) {
+            throw new IllegalArgumentException("Months ahead must not be negative: " + monthsAhead);
+        }
+
+        MonthlySeries series = MonthlySeries.of(expenses, YearMonth.from(asOf).minusMonths(1));
+        if (series.length() == 0) {
+            series = MonthlySeries.of(expenses);
+        }
+        YearMonth lastMonth = series.getLastMonth();
+        Map<ExpenseCategory, List<Projection>> byCategory = new EnumMap<>(ExpenseCategory.class);
+        if (lastMonth == null) {
+            for (ExpenseCategory category : ExpenseCategory.values()) {
+                byCategory.put(category, new ArrayList<>());
+            }
+            return new ExpenseForecast(new ArrayList<>(), byCategory);
+        }
+
+        for (ExpenseCategory category : ExpenseCategory.values()) {
+            byCategory.put(category, project(series.getCategoryTotals(category), lastMonth, monthsAhead));
+        }
+        return new ExpenseForecast(project(series.getTotals(), lastMonth, monthsAhead), byCategory);
+    }
+
+    /**
+     * Fits a model to one series and projects it
+     */
+    private static List<Projection> project(double[] history, YearMonth lastMonth, int monthsAhead) {
+        HoltWinters model = HoltWinters.fit(history);
+        List<Projection> projections = new ArrayList<>(monthsAhead);
+        for (int h = 1; h <= monthsAhead; h++) {
+            // Expenses cannot be negative, so neither can the forecast or its band
+            double amount = Math.max(0, model.forecast(h));
+            double margin = CONFIDENCE_Z * model.getStandardError(h);
+            projections.add(new Projection(lastMonth.plusMonths(h), amount,
+                Math.max(0, amount - margin), amount + margin));
+        }
+        return projections;
+    }
+}
@@ -0,0 +1,229 @@
+package meditrack.datastructure.forecast;
+
+/**
+ * Additive Holt-Winters exponential smoothing fitted to a monthly series
+ * With at least two full seasons of data the model smooths a level, a trend
+ * and a seasonal component; with less it falls back to Holt's linear trend
+ * method, and with fewer than three observations to the mean. The smoothing
+ * parameters are fitted by a grid search that minimizes the squared
+ * one-step-ahead errors, so fitting the same series always gives the same
+ * model. The errors also give the variance of each forecast, from which
+ * the confidence bands are derived.
+ */
+public final class HoltWinters {
+    public static final int MONTHS_PER_YEAR = 12;
+
+    private static final double[] LEVEL_GRID = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9};
+    private static final double[] TREND_GRID = {0.0, 0.1, 0.2, 0.3, 0.4, 0.5};
+    private static final double[] SEASONAL_GRID = {0.0, 0.1, 0.2, 0.3, 0.4, 0.5};
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final int seasonLength;
+    private final int observations;
+    private final State state;
+    private final double residualVariance;
+
+    private HoltWinters(double alpha, double beta, double gamma, int seasonLength,
+                        int observations, State state, double residualVariance) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.seasonLength = seasonLength;
+        this.observations = observations;
+        this.state = state;
+        this.residualVariance = residualVariance;
+    }
+
+    /**
+     * Fits a model with a yearly season to a monthly series
+     * @param series The observations, oldest first
+     * @return The fitted model
+     */
+    public static HoltWinters fit(double[] series) {
+        return fit(series, MONTHS_PER_YEAR);
+    }
+
+    /**
+     * Fits a model to a series
+     * @param series The observations, oldest first
+     * @param seasonLength The number of observations in a season
+     * @return The fitted model
+     */
+    public static HoltWinters fit(double[] series, int seasonLength) {
+        if (seasonLength < 2) {
+            throw new IllegalArgumentException("Season length must be at least 2: " + seasonLength);
+        }
+
+        int n = series.length;
+        if (n < 3) {
+            return fitMean(series);
+        }
+
+        int m = n >= 2 * seasonLength ? seasonLength : 0;
+        double[] seasonalGrid = m > 0 ? SEASONAL_GRID : new double[] {0.0};
+        double bestError = Double.POSITIVE_INFINITY;
+        double bestAlpha = 0, bestBeta = 0, bestGamma = 0;
+
+        for (double a : LEVEL_GRID) {
+            for (double b : TREND_GRID) {
+                for (double g : seasonalGrid) {
+                    double error = smooth(series, m, a, b, g, null);
+                    if (error < bestError) {
+                        bestError = error;
+                        bestAlpha = a;
+                        bestBeta = b;
+                        bestGamma = g;
+                    }
+                }
+            }
+        }
+
+        State state = new State(m);
+        smooth(series, m, bestAlpha, bestBeta, bestGamma, state);
+        int errorCount = n - firstForecastIndex(m);
+        return new HoltWinters(bestAlpha, bestBeta, bestGamma, m, n, state, bestError / errorCount);
+    }
+
+    /**
+     * Forecasts a series too short to fit a trend by its mean
+     */
+    private static HoltWinters fitMean(double[] series) {
+        State state = new State(0);
+        double variance = 0;
+        if (series.length > 0) {
+            double sum = 0;
+            for (double value : series) {
+                sum += value;
+            }
+            state.level = sum / series.length;
+            for (double value : series) {
+                variance += (value - state.level) * (value - state.level);
+            }
+            variance /= series.length;
+        }
+        return new HoltWinters(0, 0, 0, 0, series.length, state, variance);
+    }
+
+    /**
+     * Runs the smoothing recurrences over a series
+     * @param m The season length, or 0 for no seasonal component
+     * @param state Receives the final level, trend and seasonal components, or null
+     * @return The sum of the squared one-step-ahead errors
+     */
+    private static double smooth(double[] y, int m, double alpha, double beta, double gamma, State state) {
+        double level;
+        double trend;
+        double[] seasonal = new double[Math.max(m, 1)];
+
+        if (m > 0) {
+            // Start from the first season's mean and the change between the first two seasons
+            double firstMean = 0;
+            double secondMean = 0;
+            for (int i = 0; i < m; i++) {
+                firstMean += y[i];
+                secondMean += y[m + i];
+            }
+            firstMean /= m;
+            secondMean /= m;
+            level = firstMean;
+            trend = (secondMean - firstMean) / m;
+            for (int i = 0; i < m; i++) {
+                seasonal[i] = y[i] - firstMean;
+            }
+        } else {
+            level = y[1];
+            trend = y[1] - y[0];
+        }
+
+        double squaredErrors = 0;
+        for (int t = firstForecastIndex(m); t < y.length; t++) {
+            double season = m > 0 ? seasonal[t % m] : 0;
+            double error = y[t] - (level + trend + season);
+            squaredErrors += error * error;
+
+            double previousLevel = level;
+            level = alpha * (y[t] - season) + (1 - alpha) * (level + trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * trend;
+            if (m > 0) {
+                seasonal[t % m] = gamma * (y[t] - level) + (1 - gamma) * season;
+            }
+        }
+
+        if (state != null) {
+            state.level = level;
+            state.trend = trend;
+            state.seasonal = seasonal;
+        }
+        return squaredErrors;
+    }
+
+    private static int firstForecastIndex(int m) {
+        return m > 0 ? m : 2;
+    }
+
+    /**
+     * Forecasts the value some steps after the last observation
+     * @param horizon The number of steps ahead, starting at 1
+     * @return The forecast
+     */
+    public double forecast(int horizon) {
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Horizon must be at least 1: " + horizon);
+        }
+        double season = seasonLength > 0 ? state.seasonal[(observations - 1 + horizon) % seasonLength] : 0;
+        return state.level + horizon * state.trend + season;
+    }
+
+    /**
+     * Gets the standard error of a forecast
+     * The one-step error variance grows with the horizon by the squared
+     * weights that the smoothing gives to each intervening error.
+     * @param horizon The number of steps ahead, starting at 1
+     * @return The standard error
+     */
+    public double getStandardError(int horizon) {
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Horizon must be at least 1: " + horizon);
+        }
+        double factor = 1;
+        for (int j = 1; j < horizon; j++) {
+            double weight = alpha * (1 + j * beta);
+            if (seasonLength > 0 && j % seasonLength == 0) {
+                weight += gamma;
+            }
+            factor += weight * weight;
+        }
+        return Math.sqrt(residualVariance * factor);
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+
+    public double getGamma() {
+        return gamma;
+    }
+
+    public boolean isSeasonal() {
+        return seasonLength > 0;
+    }
+
+    /**
+     * The smoothed components after the last observation
+     */
+    private static final class State {
+        private double level;
+        private double trend;
+        private double[] seasonal;
+
+        State(int seasonLength) {
+            seasonal = new double[Math.max(seasonLength, 1)];
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package meditrack.datastructure.forecast;
+
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Monthly expense totals laid out as contiguous time series
+ * The expenses are bucketed by month in one pass, summing exact cents, and
+ * the buckets are then laid out from the first month with an expense to the
+ * last, or to a given end month, with months that have no expenses holding zero. There is one series for all
+ * categories and one for each category.
+ */
+public final class MonthlySeries {
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+
+    private final YearMonth firstMonth;
+    private final double[] totals;
+    private final double[][] categoryTotals;
+
+    private MonthlySeries(YearMonth firstMonth, double[] totals, double[][] categoryTotals) {
+        this.firstMonth = firstMonth;
+        this.totals = totals;
+        this.categoryTotals = categoryTotals;
+    }
+
+    /**
+     * Buckets expenses by month
+     * @param expenses The expenses
+     * @return The monthly series; empty if there are no expenses
+     */
+    public static MonthlySeries of(Iterable<MedicalExpense> expenses) {
+        return of(expenses, null);
+    }
+
+    /**
+     * Buckets the expenses up to and including a month, leaving out later ones
+     * The series runs through the end month even if the last expenses are
+     * older, so months without spending before it count as zero.
+     * @param expenses The expenses
+     * @param endMonth The last month of the series, or null to end at the last expense
+     * @return The monthly series; empty if no expense falls in or before the end month
+     */
+    public static MonthlySeries of(Iterable<MedicalExpense> expenses, YearMonth endMonth) {
+        int end = endMonth == null ? Integer.MAX_VALUE : endMonth.getYear() * 12 + endMonth.getMonthValue() - 1;
+
+        // Bucket slot 0 holds the month's total in cents, slot 1 + ordinal a category's total
+        Map<Integer, long[]> buckets = new HashMap<>();
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+
+        for (MedicalExpense expense : expenses) {
+            LocalDate date = expense.getDate();
+            int month = date.getYear() * 12 + date.getMonthValue() - 1;
+            if (month > end) {
+                continue;
+            }
+            long[] bucket = buckets.computeIfAbsent(month, m -> new long[1 + CATEGORIES.length]);
+            bucket[0] += expense.getAmountCents();
+            bucket[1 + expense.getCategory().ordinal()] += expense.getAmountCents();
+            first = Math.min(first, month);
+            last = Math.max(last, month);
+        }
+
+        if (buckets.isEmpty()) {
+            return new MonthlySeries(null, new double[0], new double[CATEGORIES.length][0]);
+        }
+
+        if (endMonth != null) {
+            last = end;
+        }
+        int length = last - first + 1;
+        double[] totals = new double[length];
+        double[][] categoryTotals = new double[CATEGORIES.length][length];
+        for (Map.Entry<Integer, long[]> entry : buckets.entrySet()) {
+            int t = entry.getKey() - first;
+            long[] bucket = entry.getValue();
+            totals[t] = Money.toDollars(bucket[0]);
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                categoryTotals[c][t] = Money.toDollars(bucket[1 + c]);
+            }
+        }
+        return new MonthlySeries(YearMonth.of(first / 12, first % 12 + 1), totals, categoryTotals);
+    }
+
+    /**
+     * Gets the first month of the series
+     * @return The first month, or null if the series is empty
+     */
+    public YearMonth getFirstMonth() {
+        return firstMonth;
+    }
+
+    /**
+     * Gets the last month of the series
+     * @return The last month, or null if the series is empty
+     */
+    public YearMonth getLastMonth() {
+        return firstMonth == null ? null : firstMonth.plusMonths(totals.length - 1);
+    }
+
+    /**
+     * Gets the number of months in the series
+     * @return The number of months
+     */
+    public int length() {
+        return totals.length;
+    }
+
+    /**
+     * Gets the monthly totals of all categories
+     * @return The totals, oldest month first
+     */
+    public double[] getTotals() {
+        return totals.clone();
+    }
+
+    /**
+     * Gets the monthly totals of one category
+     * @param category The category
+     * @return The totals, oldest month first
+     */
+    public double[] getCategoryTotals(ExpenseCategory category) {
+        return categoryTotals[category.ordinal()].clone();
+    }
+}
@@ -0,0 +1,356 @@
+package meditrack.datastructure.index;
+
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index of expense totals by date, stored in Fenwick trees over epoch days.
+ * For every day the index holds the total amount, the reimbursed amount and
+ * the number of expenses, both for all categories and for each category.
+ * The totals over any date range are answered with two prefix sums, in
+ * O(log d) time where d is the number of days the index spans, however many
+ * expenses fall in the range. Adding, editing and removing an expense are
+ * O(log d) point updates. Amounts are kept in whole cents, so the totals
+ * stay exact as expenses come and go. Each expense's values are captured when
+ * it is added, which lets an edited expense be moved from its old date and
+ * amounts. The day range grows automatically to take in new dates, up to a
+ * span of MAX_CAPACITY days, which bounds the trees to a few megabytes.
+ * Expenses dated outside that span, such as a mistyped year, are kept in a
+ * separate map and added to the totals by a scan, which stays cheap as long
+ * as such dates are rare.
+ * The index is not synchronized.
+ */
+public class ExpenseDateIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    // About 90 years of days; the trees then take under 9 MB
+    private static final int MAX_CAPACITY = 1 << 15;
+    private static final int FIELD_COUNT = 3;
+    private static final int AMOUNT = 0;
+    private static final int REIMBURSED = 1;
+    private static final int COUNT = 2;
+    private static final int ALL_CATEGORIES = 0;
+    private static final int GROUP_COUNT = 1 + ExpenseCategory.values().length;
+
+    private final Map<String, Entry> entriesById;
+    private final Map<String, Entry> outOfRangeById;
+    private long[][] trees;
+    private long firstDay;
+    private int capacity;
+
+    /**
+     * Creates an empty index.
+     */
+    public ExpenseDateIndex() {
+        entriesById = new HashMap<>();
+        outOfRangeById = new HashMap<>();
+        clear();
+    }
+
+    /**
+     * Adds an expense to the index, replacing its previous values if it is already indexed.
+     * @param expense The expense to add.
+     */
+    public void add(MedicalExpense expense) {
+        remove(expense);
+
+        Entry entry = new Entry(expense);
+        entriesById.put(expense.getId(), entry);
+        if (entry.day >= firstDay && entry.day < firstDay + capacity) {
+            apply(entry, 1);
+        } else if (!growToInclude(entry.day)) {
+            outOfRangeById.put(expense.getId(), entry);
+        }
+    }
+
+    /**
+     * Moves an edited expense's values from its old date and amounts to its current ones.
+     * @param expense The edited expense.
+     */
+    public void update(MedicalExpense expense) {
+        add(expense);
+    }
+
+    /**
+     * Removes an expense from the index, using the values it was added with.
+     * @param expense The expense to remove.
+     * @return True if the expense was indexed, or false if not.
+     */
+    public boolean remove(MedicalExpense expense) {
+        Entry entry = entriesById.remove(expense.getId());
+        if (entry == null) {
+            return false;
+        }
+        if (outOfRangeById.remove(expense.getId()) == null) {
+            apply(entry, -1);
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the contents of the index with the given expenses.
+     * @param expenses The expenses to index.
+     */
+    public void rebuild(Iterable<? extends MedicalExpense> expenses) {
+        entriesById.clear();
+        for (MedicalExpense expense : expenses) {
+            entriesById.put(expense.getId(), new Entry(expense));
+        }
+
+        if (entriesById.isEmpty()) {
+            clear();
+            return;
+        }
+
+        // Index the span of at most MAX_CAPACITY days that holds the most expenses
+        long[] days = new long[entriesById.size()];
+        int n = 0;
+        for (Entry entry : entriesById.values()) {
+            days[n++] = entry.day;
+        }
+        Arrays.sort(days);
+        int bestFrom = 0;
+        int bestTo = 0;
+        for (int from = 0, to = 0; from < n; from++) {
+            while (to < n && days[to] - days[from] < MAX_CAPACITY) {
+                to++;
+            }
+            if (to - from > bestTo - bestFrom) {
+                bestFrom = from;
+                bestTo = to;
+            }
+        }
+        resize(days[bestFrom], days[bestTo - 1] - days[bestFrom] + 1);
+    }
+
+    /**
+     * Gets the totals of the expenses in a date range.
+     * @param startDate The start of the range, inclusive, or null for no lower bound.
+     * @param endDate The end of the range, inclusive, or null for no upper bound.
+     * @param category The category to total, or null for all categories.
+     * @return The totals of the range.
+     */
+    public Totals getTotals(LocalDate startDate, LocalDate endDate, ExpenseCategory category) {
+        long startDay = startDate == null ? Long.MIN_VALUE : startDate.toEpochDay();
+        long endDay = endDate == null ? Long.MAX_VALUE : endDate.toEpochDay();
+        long amountCents = 0;
+        long reimbursedCents = 0;
+        long count = 0;
+
+        // Clamp the range to the days the trees span; the entries outside it are scanned below
+        long from = Math.max(startDay, firstDay);
+        long to = Math.min(endDay, firstDay + capacity - 1);
+        if (from <= to) {
+            int group = category == null ? ALL_CATEGORIES : 1 + category.ordinal();
+            int lo = (int) (from - firstDay);
+            int hi = (int) (to - firstDay) + 1;
+            amountCents = rangeSum(group * FIELD_COUNT + AMOUNT, lo, hi);
+            reimbursedCents = rangeSum(group * FIELD_COUNT + REIMBURSED, lo, hi);
+            count = rangeSum(group * FIELD_COUNT + COUNT, lo, hi);
+        }
+
+        for (Entry entry : outOfRangeById.values()) {
+            if (entry.day >= startDay && entry.day <= endDay
+                    && (category == null || entry.category == category)) {
+                amountCents = Money.add(amountCents, entry.amountCents);
+                reimbursedCents = Money.add(reimbursedCents, entry.reimbursedCents);
+                count++;
+            }
+        }
+        return new Totals(amountCents, reimbursedCents, count);
+    }
+
+    /**
+     * Tests whether an expense with the same id as the given expense is in the index.
+     * @param expense The expense.
+     * @return True if the expense is indexed.
+     */
+    public boolean contains(MedicalExpense expense) {
+        return entriesById.containsKey(expense.getId());
+    }
+
+    /**
+     * Gets the number of expenses in the index.
+     * @return The number of expenses.
+     */
+    public int size() {
+        return entriesById.size();
+    }
+
+    /**
+     * Removes all expenses from the index.
+     */
+    public void clear() {
+        entriesById.clear();
+        outOfRangeById.clear();
+        capacity = 0;
+        firstDay = 0;
+        trees = new long[GROUP_COUNT * FIELD_COUNT][1];
+    }
+
+    /**
+     * Adds (sign 1) or subtracts (sign -1) an entry's values at its day
+     */
+    private void apply(Entry entry, int sign) {
+        int position = (int) (entry.day - firstDay);
+        applyToGroup(ALL_CATEGORIES, position, entry, sign);
+        applyToGroup(1 + entry.category.ordinal(), position, entry, sign);
+    }
+
+    private void applyToGroup(int group, int position, Entry entry, int sign) {
+        int row = group * FIELD_COUNT;
+        pointUpdate(row + AMOUNT, position, sign * entry.amountCents);
+        pointUpdate(row + REIMBURSED, position, sign * entry.reimbursedCents);
+        pointUpdate(row + COUNT, position, sign);
+    }
+
+    private void pointUpdate(int row, int position, long delta) {
+        long[] tree = trees[row];
+        for (int i = position + 1; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sums the values of positions [0, end)
+     */
+    private long prefixSum(int row, int end) {
+        long[] tree = trees[row];
+        long sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private long rangeSum(int row, int from, int to) {
+        return prefixSum(row, to) - prefixSum(row, from);
+    }
+
+    /**
+     * Widens the day range to include a day, at least doubling it so that growth is amortized
+     * Resizing refills the trees from every entry, including the new one.
+     * @return False if the range would exceed MAX_CAPACITY days, leaving it unchanged
+     */
+    private boolean growToInclude(long day) {
+        if (capacity == 0) {
+            resize(day - INITIAL_CAPACITY / 2, INITIAL_CAPACITY);
+            return true;
+        }
+
+        long lastDay = firstDay + capacity - 1;
+        long span = Math.max(lastDay, day) - Math.min(firstDay, day) + 1;
+        if (span > MAX_CAPACITY) {
+            return false;
+        }
+        long newCapacity = Math.min(Math.max(span, 2L * capacity), MAX_CAPACITY);
+        // Leave the new room on the side the range grew towards
+        long newFirstDay = day < firstDay ? lastDay - newCapacity + 1 : firstDay;
+        resize(newFirstDay, newCapacity);
+        return true;
+    }
+
+    /**
+     * Lays the trees out over a new day range and refills them from the entries in O(d + n)
+     * Entries dated outside the new range are moved to the out-of-range map.
+     */
+    private void resize(long newFirstDay, long newCapacity) {
+        firstDay = newFirstDay;
+        capacity = (int) newCapacity;
+        trees = new long[GROUP_COUNT * FIELD_COUNT][capacity + 1];
+        outOfRangeById.clear();
+
+        for (Map.Entry<String, Entry> indexed : entriesById.entrySet()) {
+            Entry entry = indexed.getValue();
+            if (entry.day < firstDay || entry.day >= firstDay + capacity) {
+                outOfRangeById.put(indexed.getKey(), entry);
+                continue;
+            }
+            int i = (int) (entry.day - firstDay) + 1;
+            addToLeaf(ALL_CATEGORIES, i, entry);
+            addToLeaf(1 + entry.category.ordinal(), i, entry);
+        }
+
+        // Push each node's sum up to its parent, which builds every tree in linear time
+        for (long[] tree : trees) {
+            for (int i = 1; i <= capacity; i++) {
+                int parent = i + (i & -i);
+                if (parent <= capacity) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+    }
+
+    private void addToLeaf(int group, int i, Entry entry) {
+        int row = group * FIELD_COUNT;
+        trees[row + AMOUNT][i] += entry.amountCents;
+        trees[row + REIMBURSED][i] += entry.reimbursedCents;
+        trees[row + COUNT][i]++;
+    }
+
+    /**
+     * The values an expense was indexed with
+     */
+    private static final class Entry {
+        private final long day;
+        private final ExpenseCategory category;
+        private final long amountCents;
+        private final long reimbursedCents;
+
+        Entry(MedicalExpense expense) {
+            day = expense.getDate().toEpochDay();
+            category = expense.getCategory();
+            amountCents = expense.getAmountCents();
+            reimbursedCents = expense.getReimbursedCents();
+        }
+    }
+
+    /**
+     * The totals of the expenses in a date range
+     */
+    public static final class Totals {
+        private final long amountCents;
+        private final long reimbursedCents;
+        private final long count;
+
+        Totals(long amountCents, long reimbursedCents, long count) {
+            this.amountCents = amountCents;
+            this.reimbursedCents = reimbursedCents;
+            this.count = count;
+        }
+
+        public double getTotal() {
+            return Money.toDollars(amountCents);
+        }
+
+        public long getTotalCents() {
+            return amountCents;
+        }
+
+        public double getReimbursed() {
+            return Money.toDollars(reimbursedCents);
+        }
+
+        public long getReimbursedCents() {
+            return reimbursedCents;
+        }
+
+        public double getOutOfPocket() {
+            return Money.toDollars(amountCents - reimbursedCents);
+        }
+
+        public long getOutOfPocketCents() {
+            return amountCents - reimbursedCents;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
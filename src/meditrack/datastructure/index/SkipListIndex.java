@@ -0,0 +1,321 @@
+package meditrack.datastructure.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * An always-sorted index of entries, stored in an indexable skip list.
+ * Entries are ordered by a sort key, and entries with equal keys stay in
+ * the order they were inserted, so the order is total and every entry has a
+ * well-defined position. Rebuilding the index from an already sorted list
+ * therefore keeps that list's order of ties. Each entry's key is
+ * captured when it is inserted, which lets an entry be found and moved after
+ * its fields have been edited. Insertion, removal and re-keying take
+ * O(log n) expected time and report the entry's position, so a list that
+ * mirrors the index can be updated in place instead of being re-sorted.
+ * The index is not synchronized.
+ * @param <K> The type of the sort key
+ * @param <T> The type of entries in the index
+ */
+public class SkipListIndex<K, T> implements Iterable<T> {
+    private static final int MAX_LEVEL = 32;
+
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final Comparator<? super K> keyOrder;
+    private final Function<? super T, String> idExtractor;
+    private final Map<String, Node<K, T>> nodesById;
+    private final Node<K, T> head;
+    private final Random random;
+    private int level;
+    private int numberOfEntries;
+    private long nextSequence;
+
+    /**
+     * Creates an empty index.
+     * @param keyExtractor Extracts the sort key of an entry.
+     * @param keyOrder The order of the sort keys.
+     * @param idExtractor Extracts the unique id of an entry, used to find it again.
+     */
+    public SkipListIndex(Function<? super T, ? extends K> keyExtractor, Comparator<? super K> keyOrder,
+                         Function<? super T, String> idExtractor) {
+        this.keyExtractor = keyExtractor;
+        this.keyOrder = keyOrder;
+        this.idExtractor = idExtractor;
+        this.nodesById = new HashMap<>();
+        this.head = new Node<>(null, null, -1, MAX_LEVEL);
+        this.random = new Random(42); // Fixed seed, so the structure is reproducible
+        clear();
+    }
+
+    /**
+     * Adds an entry to the index, or moves it if an entry with the same id is already indexed.
+     * The entry goes after any indexed entries with an equal key.
+     * @param entry The entry to add.
+     * @return The position of the entry in sorted order.
+     */
+    public int insert(T entry) {
+        String id = idExtractor.apply(entry);
+        if (nodesById.containsKey(id)) {
+            remove(entry);
+        }
+
+        K key = keyExtractor.apply(entry);
+        long sequence = nextSequence++;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K, T>[] update = (Node<K, T>[]) new Node[MAX_LEVEL];
+        int[] rankAt = new int[MAX_LEVEL];
+        findPredecessors(key, sequence, update, rankAt);
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int lvl = level; lvl < newLevel; lvl++) {
+                rankAt[lvl] = 0;
+                update[lvl] = head;
+                head.width[lvl] = numberOfEntries + 1;
+            }
+            level = newLevel;
+        }
+
+        Node<K, T> node = new Node<>(entry, key, sequence, newLevel);
+        for (int lvl = 0; lvl < newLevel; lvl++) {
+            // Split the predecessor's span at the new node
+            int stepsToNode = rankAt[0] - rankAt[lvl];
+            node.next[lvl] = update[lvl].next[lvl];
+            node.width[lvl] = update[lvl].width[lvl] - stepsToNode;
+            update[lvl].next[lvl] = node;
+            update[lvl].width[lvl] = stepsToNode + 1;
+        }
+        for (int lvl = newLevel; lvl < level; lvl++) {
+            update[lvl].width[lvl]++;
+        }
+
+        nodesById.put(id, node);
+        numberOfEntries++;
+        return rankAt[0];
+    }
+
+    /**
+     * Removes an entry from the index, locating it by the key it was inserted with.
+     * @param entry The entry to remove.
+     * @return The position the entry had in sorted order, or -1 if it was not in the index.
+     */
+    public int remove(T entry) {
+        Node<K, T> node = nodesById.remove(idExtractor.apply(entry));
+        if (node == null) {
+            return -1;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K, T>[] update = (Node<K, T>[]) new Node[MAX_LEVEL];
+        int[] rankAt = new int[MAX_LEVEL];
+        findPredecessors(node.key, node.sequence, update, rankAt);
+
+        for (int lvl = 0; lvl < level; lvl++) {
+            if (update[lvl].next[lvl] == node) {
+                update[lvl].width[lvl] += node.width[lvl] - 1;
+                update[lvl].next[lvl] = node.next[lvl];
+            } else {
+                update[lvl].width[lvl]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+
+        numberOfEntries--;
+        return rankAt[0];
+    }
+
+    /**
+     * Moves an entry whose sort key may have changed to its new position.
+     * @param entry The edited entry.
+     * @return The new position of the entry in sorted order.
+     */
+    public int update(T entry) {
+        return insert(entry);
+    }
+
+    /**
+     * Gets the position of an entry in sorted order.
+     * @param entry The entry.
+     * @return The position, or -1 if the entry is not in the index.
+     */
+    public int indexOf(T entry) {
+        Node<K, T> node = nodesById.get(idExtractor.apply(entry));
+        if (node == null) {
+            return -1;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K, T>[] update = (Node<K, T>[]) new Node[MAX_LEVEL];
+        int[] rankAt = new int[MAX_LEVEL];
+        findPredecessors(node.key, node.sequence, update, rankAt);
+        return rankAt[0];
+    }
+
+    /**
+     * Gets the entry at a position in sorted order.
+     * @param index The position, from 0 to size() - 1.
+     * @return The entry at the position.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= numberOfEntries) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + numberOfEntries);
+        }
+
+        // Follow the spans whose widths add up to the target rank
+        int remaining = index + 1;
+        Node<K, T> current = head;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (current.next[lvl] != null && current.width[lvl] <= remaining) {
+                remaining -= current.width[lvl];
+                current = current.next[lvl];
+            }
+        }
+        return current.value;
+    }
+
+    /**
+     * Tests whether an entry with the same id as the given entry is in the index.
+     * @param entry The entry.
+     * @return True if the entry is indexed.
+     */
+    public boolean contains(T entry) {
+        return nodesById.containsKey(idExtractor.apply(entry));
+    }
+
+    /**
+     * Replaces the contents of the index with the given entries.
+     * @param entries The entries to index.
+     */
+    public void rebuild(Iterable<? extends T> entries) {
+        clear();
+        for (T entry : entries) {
+            insert(entry);
+        }
+    }
+
+    /**
+     * Gets the entries in sorted order.
+     * @return A new list of the entries.
+     */
+    public List<T> toList() {
+        List<T> list = new ArrayList<>(numberOfEntries);
+        for (T entry : this) {
+            list.add(entry);
+        }
+        return list;
+    }
+
+    /**
+     * Gets the number of entries in the index.
+     * @return The number of entries.
+     */
+    public int size() {
+        return numberOfEntries;
+    }
+
+    /**
+     * Tests whether the index is empty.
+     * @return True if the index has no entries.
+     */
+    public boolean isEmpty() {
+        return numberOfEntries == 0;
+    }
+
+    /**
+     * Removes all entries from the index.
+     */
+    public void clear() {
+        for (int lvl = 0; lvl < MAX_LEVEL; lvl++) {
+            head.next[lvl] = null;
+            head.width[lvl] = 1;
+        }
+        nodesById.clear();
+        level = 1;
+        numberOfEntries = 0;
+        nextSequence = 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<K, T> current = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = current.value;
+                current = current.next[0];
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Finds the last node before (key, sequence) on every level and the rank of each
+     * @param update Receives the predecessor on each level
+     * @param rankAt Receives the number of entries up to and including each predecessor
+     */
+    private void findPredecessors(K key, long sequence, Node<K, T>[] update, int[] rankAt) {
+        Node<K, T> current = head;
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            rankAt[lvl] = lvl == level - 1 ? 0 : rankAt[lvl + 1];
+            while (current.next[lvl] != null && compare(current.next[lvl], key, sequence) < 0) {
+                rankAt[lvl] += current.width[lvl];
+                current = current.next[lvl];
+            }
+            update[lvl] = current;
+        }
+    }
+
+    private int compare(Node<K, T> node, K key, long sequence) {
+        int cmp = keyOrder.compare(node.key, key);
+        return cmp != 0 ? cmp : Long.compare(node.sequence, sequence);
+    }
+
+    /**
+     * Picks the level of a new node; each level is used by a quarter of the level below
+     */
+    private int randomLevel() {
+        int newLevel = 1;
+        while (newLevel < MAX_LEVEL && random.nextInt(4) == 0) {
+            newLevel++;
+        }
+        return newLevel;
+    }
+
+    /**
+     * A skip list node holding an entry, the key it was indexed under and its insertion sequence
+     */
+    private static class Node<K, T> {
+        private final T value;
+        private final K key;
+        private final long sequence;
+        private final Node<K, T>[] next;
+        private final int[] width; // Number of entries stepped over by each link, including its target
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(T value, K key, long sequence, int level) {
+            this.value = value;
+            this.key = key;
+            this.sequence = sequence;
+            this.next = (Node<K, T>[]) new Node[level];
+            this.width = new int[level];
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package meditrack.datastructure.recursion;
+
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Per-category running totals stored in primitive arrays indexed by category ordinal
+ * Adding an amount updates two array slots, so accumulating millions of
+ * expenses allocates nothing per element, unlike a Map of boxed Doubles.
+ * Totals are kept in whole cents, so they are exact and do not depend on
+ * the order of the amounts, and accumulators filled in parallel can be
+ * merged. asMap exposes the totals in dollars through the Map API as a
+ * read-only view, without copying them.
+ * The accumulator is not synchronized.
+ */
+public final class CategoryAccumulator {
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+
+    private final long[] sums = new long[CATEGORIES.length];
+    private final long[] counts = new long[CATEGORIES.length];
+
+    /**
+     * Adds an amount to a category's total
+     * @param category The category
+     * @param cents The amount to add, in cents
+     */
+    public void add(ExpenseCategory category, long cents) {
+        int i = category.ordinal();
+        sums[i] = Money.add(sums[i], cents);
+        counts[i]++;
+    }
+
+    /**
+     * Adds a pre-summed total of several amounts to a category's total
+     * @param category The category
+     * @param cents The sum of the amounts, in cents
+     * @param count The number of amounts in the sum
+     */
+    public void add(ExpenseCategory category, long cents, long count) {
+        int i = category.ordinal();
+        sums[i] = Money.add(sums[i], cents);
+        counts[i] += count;
+    }
+
+    /**
+     * Adds the totals of another accumulator to this one
+     * @param other The accumulator to merge
+     */
+    public void merge(CategoryAccumulator other) {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (other.counts[i] > 0) {
+                sums[i] = Money.add(sums[i], other.sums[i]);
+                counts[i] += other.counts[i];
+            }
+        }
+    }
+
+    /**
+     * Gets the total of a category in dollars
+     * @param category The category
+     * @return The total, or 0 if nothing was added for the category
+     */
+    public double getTotal(ExpenseCategory category) {
+        return Money.toDollars(sums[category.ordinal()]);
+    }
+
+    /**
+     * Gets the total of a category in cents
+     * @param category The category
+     * @return The total, or 0 if nothing was added for the category
+     */
+    public long getTotalCents(ExpenseCategory category) {
+        return sums[category.ordinal()];
+    }
+
+    /**
+     * Gets the number of amounts added for a category
+     * @param category The category
+     * @return The number of amounts
+     */
+    public long getCount(ExpenseCategory category) {
+        return counts[category.ordinal()];
+    }
+
+    /**
+     * Adds every category total to a map, merging with any totals already in it
+     * @param categoryTotals The map that receives the totals
+     * @return The map
+     */
+    public Map<ExpenseCategory, Double> addTo(Map<ExpenseCategory, Double> categoryTotals) {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (counts[i] > 0) {
+                categoryTotals.merge(CATEGORIES[i], Money.toDollars(sums[i]), Double::sum);
+            }
+        }
+        return categoryTotals;
+    }
+
+    /**
+     * Gets a read-only Map view of the totals
+     * The view contains the categories that have had at least one amount added,
+     * in category order, and reflects later additions to the accumulator.
+     * @return The map view
+     */
+    public Map<ExpenseCategory, Double> asMap() {
+        return new TotalsView();
+    }
+
+    /**
+     * Read-only map view over the accumulator's arrays
+     */
+    private class TotalsView extends AbstractMap<ExpenseCategory, Double> {
+        @Override
+        public Double get(Object key) {
+            if (!(key instanceof ExpenseCategory) || counts[((ExpenseCategory) key).ordinal()] == 0) {
+                return null;
+            }
+            return getTotal((ExpenseCategory) key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof ExpenseCategory && counts[((ExpenseCategory) key).ordinal()] > 0;
+        }
+
+        @Override
+        public Set<Map.Entry<ExpenseCategory, Double>> entrySet() {
+            return new AbstractSet<Map.Entry<ExpenseCategory, Double>>() {
+                @Override
+                public Iterator<Map.Entry<ExpenseCategory, Double>> iterator() {
+                    return new Iterator<Map.Entry<ExpenseCategory, Double>>() {
+                        private int next = advance(0);
+
+                        private int advance(int from) {
+                            while (from < CATEGORIES.length && counts[from] == 0) {
+                                from++;
+                            }
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < CATEGORIES.length;
+                        }
+
+                        @Override
+                        public Map.Entry<ExpenseCategory, Double> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            ExpenseCategory category = CATEGORIES[next];
+                            next = advance(next + 1);
+                            return new AbstractMap.SimpleImmutableEntry<>(category, getTotal(category));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (long count : counts) {
+                        if (count > 0) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+}
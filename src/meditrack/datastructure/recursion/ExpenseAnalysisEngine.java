@@ -0,0 +1,202 @@
+package meditrack.datastructure.recursion;
+
+import meditrack.datastructure.columnar.ColumnarExpenseStore;
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Iterative evaluation engine behind RecursiveExpenseAnalyzer
+ * Each aggregation is a single loop over the expenses, so the stack depth
+ * stays constant however many expenses there are. When several
+ * aggregations are needed together, summarize computes all of them in one
+ * fused scan instead of one pass per aggregation. Amounts are added in
+ * whole cents, so the totals are exact and agree with ParallelExpenseAnalyzer.
+ */
+public final class ExpenseAnalysisEngine {
+
+    private ExpenseAnalysisEngine() {
+    }
+
+    /**
+     * Calculates the total amount of the expenses from an index to the end of the list
+     * @param expenses The list of expenses to analyze
+     * @param fromIndex The index of the first expense to include
+     * @return The total amount
+     */
+    public static double total(List<MedicalExpense> expenses, int fromIndex) {
+        return Money.toDollars(totalCents(expenses, fromIndex));
+    }
+
+    /**
+     * Calculates the exact total amount of the expenses from an index to the end of the list
+     * @param expenses The list of expenses to analyze
+     * @param fromIndex The index of the first expense to include
+     * @return The total amount, in cents
+     */
+    public static long totalCents(List<MedicalExpense> expenses, int fromIndex) {
+        long total = 0;
+        for (int i = Math.max(0, fromIndex); i < expenses.size(); i++) {
+            total = Money.add(total, expenses.get(i).getAmountCents());
+        }
+        return total;
+    }
+
+    /**
+     * Adds the amounts of the expenses from an index to the end of the list to per-category totals
+     * @param expenses The list of expenses to analyze
+     * @param fromIndex The index of the first expense to include
+     * @param categoryTotals The map that receives the category totals
+     * @return The category totals map
+     */
+    public static Map<ExpenseCategory, Double> totalsByCategory(
+            List<MedicalExpense> expenses, int fromIndex, Map<ExpenseCategory, Double> categoryTotals) {
+        return accumulateByCategory(expenses, fromIndex).addTo(categoryTotals);
+    }
+
+    /**
+     * Accumulates the amounts of the expenses from an index to the end of the list by category
+     * @param expenses The list of expenses to analyze
+     * @param fromIndex The index of the first expense to include
+     * @return The category accumulator
+     */
+    public static CategoryAccumulator accumulateByCategory(List<MedicalExpense> expenses, int fromIndex) {
+        CategoryAccumulator accumulator = new CategoryAccumulator();
+        for (int i = Math.max(0, fromIndex); i < expenses.size(); i++) {
+            MedicalExpense expense = expenses.get(i);
+            accumulator.add(expense.getCategory(), expense.getAmountCents());
+        }
+        return accumulator;
+    }
+
+    /**
+     * Calculates the exact total amount of the expenses in a columnar store
+     * The scan reads only the store's amount column.
+     * @param store The columnar store to analyze
+     * @return The total amount, in cents
+     */
+    public static long totalCents(ColumnarExpenseStore store) {
+        return store.sumAmountCents(null, null);
+    }
+
+    /**
+     * Accumulates the amounts of the expenses in a columnar store by category
+     * The scan reads only the store's category and amount columns.
+     * @param store The columnar store to analyze
+     * @return The category accumulator
+     */
+    public static CategoryAccumulator accumulateByCategory(ColumnarExpenseStore store) {
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        long[] cents = new long[categories.length];
+        long[] counts = new long[categories.length];
+        store.sumByCategory(null, null, cents, counts);
+
+        CategoryAccumulator accumulator = new CategoryAccumulator();
+        for (ExpenseCategory category : categories) {
+            if (counts[category.ordinal()] > 0) {
+                accumulator.add(category, cents[category.ordinal()], counts[category.ordinal()]);
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * Collects the expenses from an index to the end of the list that fall within a date range
+     * @param expenses The list of expenses to search
+     * @param startDate The start of the date range, inclusive
+     * @param endDate The end of the date range, inclusive
+     * @param fromIndex The index of the first expense to examine
+     * @param result The list that receives the matching expenses
+     * @return The result list
+     */
+    public static List<MedicalExpense> inDateRange(
+            List<MedicalExpense> expenses, LocalDate startDate, LocalDate endDate,
+            int fromIndex, List<MedicalExpense> result) {
+        for (int i = Math.max(0, fromIndex); i < expenses.size(); i++) {
+            MedicalExpense expense = expenses.get(i);
+            if (isInRange(expense.getDate(), startDate, endDate)) {
+                result.add(expense);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the total, the category totals and the date-range expenses in one scan
+     * @param expenses The list of expenses to analyze
+     * @param startDate The start of the date range, inclusive
+     * @param endDate The end of the date range, inclusive
+     * @return The summary of the expenses
+     */
+    public static Summary summarize(List<MedicalExpense> expenses, LocalDate startDate, LocalDate endDate) {
+        long total = 0;
+        long rangeTotal = 0;
+        CategoryAccumulator categoryTotals = new CategoryAccumulator();
+        List<MedicalExpense> inRange = new ArrayList<>();
+
+        for (MedicalExpense expense : expenses) {
+            long cents = expense.getAmountCents();
+            total = Money.add(total, cents);
+            categoryTotals.add(expense.getCategory(), cents);
+
+            if (isInRange(expense.getDate(), startDate, endDate)) {
+                inRange.add(expense);
+                rangeTotal = Money.add(rangeTotal, cents);
+            }
+        }
+
+        return new Summary(total, categoryTotals.asMap(), inRange, rangeTotal);
+    }
+
+    static boolean isInRange(LocalDate date, LocalDate startDate, LocalDate endDate) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+
+    /**
+     * The aggregations computed by one fused scan
+     */
+    public static final class Summary {
+        private final long totalCents;
+        private final Map<ExpenseCategory, Double> categoryTotals;
+        private final List<MedicalExpense> expensesInRange;
+        private final long rangeTotalCents;
+
+        Summary(long totalCents, Map<ExpenseCategory, Double> categoryTotals,
+                List<MedicalExpense> expensesInRange, long rangeTotalCents) {
+            this.totalCents = totalCents;
+            this.categoryTotals = Collections.unmodifiableMap(categoryTotals);
+            this.expensesInRange = Collections.unmodifiableList(expensesInRange);
+            this.rangeTotalCents = rangeTotalCents;
+        }
+
+        public double getTotal() {
+            return Money.toDollars(totalCents);
+        }
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        public Map<ExpenseCategory, Double> getCategoryTotals() {
+            return categoryTotals;
+        }
+
+        public List<MedicalExpense> getExpensesInRange() {
+            return expensesInRange;
+        }
+
+        public double getRangeTotal() {
+            return Money.toDollars(rangeTotalCents);
+        }
+
+        public long getRangeTotalCents() {
+            return rangeTotalCents;
+        }
+    }
+}
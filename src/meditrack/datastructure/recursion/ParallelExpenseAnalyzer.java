@@ -0,0 +1,206 @@
+package meditrack.datastructure.recursion;
+
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Divide-and-conquer variant of RecursiveExpenseAnalyzer using the fork/join framework
+ * The expense range is split in halves until a portion is no larger than
+ * the sequential threshold. Each leaf computes a partial total, partial
+ * category totals and its date-range hits in one scan, and the partial
+ * results are merged on the way back up. Hits are merged left before right,
+ * so they come back in list order. Totals are summed in whole cents, so
+ * they are exact and agree with the sequential ExpenseAnalysisEngine.
+ */
+public class ParallelExpenseAnalyzer {
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 4096;
+
+    private final int sequentialThreshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an analyzer that runs in the common fork/join pool
+     */
+    public ParallelExpenseAnalyzer() {
+        this(DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Creates an analyzer with a given sequential threshold
+     * @param sequentialThreshold The largest portion that is analyzed without splitting further
+     */
+    public ParallelExpenseAnalyzer(int sequentialThreshold) {
+        this(sequentialThreshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an analyzer with a given sequential threshold and pool
+     * @param sequentialThreshold The largest portion that is analyzed without splitting further
+     * @param pool The fork/join pool that runs the analysis
+     */
+    public ParallelExpenseAnalyzer(int sequentialThreshold, ForkJoinPool pool) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be at least 1");
+        }
+        this.sequentialThreshold = sequentialThreshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Calculates the total expenses in a list
+     * @param expenses The list of expenses to analyze
+     * @return The total amount of all expenses
+     */
+    public double calculateTotalExpenses(List<MedicalExpense> expenses) {
+        return Money.toDollars(calculateTotalExpensesCents(expenses));
+    }
+
+    /**
+     * Calculates the exact total expenses in a list
+     * @param expenses The list of expenses to analyze
+     * @return The total amount of all expenses, in cents
+     */
+    public long calculateTotalExpensesCents(List<MedicalExpense> expenses) {
+        return analyze(expenses, null, null).totalCents;
+    }
+
+    /**
+     * Calculates the total expenses by category
+     * @param expenses The list of expenses to analyze
+     * @return The map of category totals
+     */
+    public Map<ExpenseCategory, Double> calculateExpensesByCategory(List<MedicalExpense> expenses) {
+        return analyze(expenses, null, null).categoryTotals.asMap();
+    }
+
+    /**
+     * Finds expenses within a date range
+     * @param expenses The list of expenses to search
+     * @param startDate The start of the date range
+     * @param endDate The end of the date range
+     * @return A list of expenses within the date range, in list order
+     */
+    public List<MedicalExpense> findExpensesInDateRange(
+            List<MedicalExpense> expenses, LocalDate startDate, LocalDate endDate) {
+        return analyze(expenses, startDate, endDate).inRange;
+    }
+
+    /**
+     * Computes the total, the category totals and the expenses within a date range together
+     * @param expenses The list of expenses to analyze
+     * @param startDate The start of the date range
+     * @param endDate The end of the date range
+     * @return The summary of the expenses
+     */
+    public ExpenseAnalysisEngine.Summary summarizeExpenses(
+            List<MedicalExpense> expenses, LocalDate startDate, LocalDate endDate) {
+        Partial result = analyze(expenses, startDate, endDate);
+        return new ExpenseAnalysisEngine.Summary(result.totalCents,
+            result.categoryTotals.asMap(), result.inRange, result.rangeTotalCents);
+    }
+
+    /**
+     * Gets the sequential threshold below which portions are not split
+     * @return The sequential threshold
+     */
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+
+    /**
+     * Runs the analysis; a null date range skips the range test
+     */
+    private Partial analyze(List<MedicalExpense> expenses, LocalDate startDate, LocalDate endDate) {
+        // Splitting relies on constant-time positional access
+        List<MedicalExpense> indexable = expenses instanceof RandomAccess ? expenses : new ArrayList<>(expenses);
+        return pool.invoke(new AnalysisTask(indexable, startDate, endDate, 0, indexable.size()));
+    }
+
+    /**
+     * Fork/join task that analyzes a portion of the expenses
+     */
+    private class AnalysisTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<MedicalExpense> expenses;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final int low;
+        private final int high;
+
+        /**
+         * @param low The index of the first expense in the portion
+         * @param high The index after the last expense in the portion
+         */
+        AnalysisTask(List<MedicalExpense> expenses, LocalDate startDate, LocalDate endDate, int low, int high) {
+            this.expenses = expenses;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (high - low <= sequentialThreshold) {
+                return scan();
+            }
+
+            int middle = (low + high) >>> 1;
+            AnalysisTask left = new AnalysisTask(expenses, startDate, endDate, low, middle);
+            AnalysisTask right = new AnalysisTask(expenses, startDate, endDate, middle, high);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+
+        /**
+         * Analyzes the portion sequentially in one scan
+         */
+        private Partial scan() {
+            Partial partial = new Partial();
+            for (int i = low; i < high; i++) {
+                MedicalExpense expense = expenses.get(i);
+                long cents = expense.getAmountCents();
+                partial.totalCents = Money.add(partial.totalCents, cents);
+                partial.categoryTotals.add(expense.getCategory(), cents);
+
+                if (startDate != null && ExpenseAnalysisEngine.isInRange(expense.getDate(), startDate, endDate)) {
+                    partial.inRange.add(expense);
+                    partial.rangeTotalCents = Money.add(partial.rangeTotalCents, cents);
+                }
+            }
+            return partial;
+        }
+    }
+
+    /**
+     * The partial results of one portion of the expenses
+     */
+    private static class Partial {
+        private long totalCents;
+        private long rangeTotalCents;
+        private final CategoryAccumulator categoryTotals = new CategoryAccumulator();
+        private final List<MedicalExpense> inRange = new ArrayList<>();
+
+        /**
+         * Merges the results of the portion that follows this one into this one
+         */
+        Partial merge(Partial next) {
+            totalCents = Money.add(totalCents, next.totalCents);
+            rangeTotalCents = Money.add(rangeTotalCents, next.rangeTotalCents);
+            categoryTotals.merge(next.categoryTotals);
+            inRange.addAll(next.inRange);
+            return this;
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package meditrack.datastructure.recursion;
 
+import meditrack.datastructure.columnar.ColumnarExpenseStore;
+import meditrack.datastructure.forecast.ExpenseForecast;
+import meditrack.datastructure.forecast.ExpenseForecaster;
 import meditrack.model.MedicalExpense;
+import meditrack.model.Money;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.ArrayList;
 
 /**
  * Class that demonstrates recursive algorithms for medical expense analysis
+ * The per-element recursions are defined here but evaluated by the iterative
+ * ExpenseAnalysisEngine, so lists of any length are analyzed with constant
+ * stack depth.
  */
 public class RecursiveExpenseAnalyzer {
 
@@ -19,14 +25,8 @@ public class RecursiveExpenseAnalyzer {
      * @return The total amount of all expenses
      */
     public static double calculateTotalExpensesRecursive(List<MedicalExpense> expenses, int index) {
-        // Base case: if we've reached the end of the list, return 0
-        if (index >= expenses.size()) {
-            return 0;
-        }
-        
-        // Recursive case: add the current expense to the total of the rest
-        return expenses.get(index).getAmount() + 
-               calculateTotalExpensesRecursive(expenses, index + 1);
+        // Sum the current expense and the rest of the list in a single loop
+        return ExpenseAnalysisEngine.total(expenses, index);
     }
     
     /**
@@ -38,6 +38,24 @@ public class RecursiveExpenseAnalyzer {
         return calculateTotalExpensesRecursive(expenses, 0);
     }
     
+    /**
+     * Calculates the exact total expenses in a list
+     * @param expenses The list of expenses to analyze
+     * @return The total amount of all expenses, in cents
+     */
+    public static long calculateTotalExpensesCents(List<MedicalExpense> expenses) {
+        return ExpenseAnalysisEngine.totalCents(expenses, 0);
+    }
+    
+    /**
+     * Calculates the total expenses in a columnar store
+     * @param store The columnar store to analyze
+     * @return The total amount of all expenses
+     */
+    public static double calculateTotalExpenses(ColumnarExpenseStore store) {
+        return Money.toDollars(ExpenseAnalysisEngine.totalCents(store));
+    }
+    
     /**
      * Recursively calculates the total expenses by category
      * @param expenses The list of expenses to analyze
@@ -51,32 +69,29 @@ public class RecursiveExpenseAnalyzer {
                 int index, 
                 Map<MedicalExpense.ExpenseCategory, Double> categoryTotals) {
                 
-        // Base case: if we've reached the end of the list, return the map
-        if (index >= expenses.size()) {
-            return categoryTotals;
-        }
-        
-        // Get the current expense
-        MedicalExpense expense = expenses.get(index);
-        MedicalExpense.ExpenseCategory category = expense.getCategory();
-        
-        // Update the category total
-        double currentTotal = categoryTotals.getOrDefault(category, 0.0);
-        categoryTotals.put(category, currentTotal + expense.getAmount());
-        
-        // Recursive call to process the rest of the list
-        return calculateExpensesByCategoryRecursive(expenses, index + 1, categoryTotals);
+        // Update the category totals for the current expense and the rest of the list in a single loop
+        return ExpenseAnalysisEngine.totalsByCategory(expenses, index, categoryTotals);
     }
     
     /**
      * Wrapper method for the recursive category calculation
+     * The totals are accumulated in primitive arrays and returned as a read-only map view
      * @param expenses The list of expenses to analyze
      * @return The map of category totals
      */
     public static Map<MedicalExpense.ExpenseCategory, Double> 
             calculateExpensesByCategory(List<MedicalExpense> expenses) {
-        return calculateExpensesByCategoryRecursive(
-            expenses, 0, new HashMap<>());
+        return ExpenseAnalysisEngine.accumulateByCategory(expenses, 0).asMap();
+    }
+    
+    /**
+     * Calculates the total expenses by category in a columnar store
+     * @param store The columnar store to analyze
+     * @return The map of category totals
+     */
+    public static Map<MedicalExpense.ExpenseCategory, Double> 
+            calculateExpensesByCategory(ColumnarExpenseStore store) {
+        return ExpenseAnalysisEngine.accumulateByCategory(store).asMap();
     }
     
     /**
@@ -95,23 +110,8 @@ public class RecursiveExpenseAnalyzer {
             int index,
             List<MedicalExpense> result) {
             
-        // Base case: if we've reached the end of the list, return the result
-        if (index >= expenses.size()) {
-            return result;
-        }
-        
-        // Get the current expense
-        MedicalExpense expense = expenses.get(index);
-        LocalDate expenseDate = expense.getDate();
-        
-        // If the expense is within the date range, add it to the result
-        if ((expenseDate.isEqual(startDate) || expenseDate.isAfter(startDate)) &&
-            (expenseDate.isEqual(endDate) || expenseDate.isBefore(endDate))) {
-            result.add(expense);
-        }
-        
-        // Recursive call to process the rest of the list
-        return findExpensesInDateRangeRecursive(expenses, startDate, endDate, index + 1, result);
+        // Test the current expense and the rest of the list in a single loop
+        return ExpenseAnalysisEngine.inDateRange(expenses, startDate, endDate, index, result);
     }
     
     /**
@@ -129,9 +129,24 @@ public class RecursiveExpenseAnalyzer {
             expenses, startDate, endDate, 0, new ArrayList<>());
     }
     
+    /**
+     * Computes the total, the category totals and the expenses within a date
+     * range together, in one scan of the list
+     * @param expenses The list of expenses to analyze
+     * @param startDate The start of the date range
+     * @param endDate The end of the date range
+     * @return The summary of the expenses
+     */
+    public static ExpenseAnalysisEngine.Summary summarizeExpenses(
+            List<MedicalExpense> expenses,
+            LocalDate startDate,
+            LocalDate endDate) {
+        return ExpenseAnalysisEngine.summarize(expenses, startDate, endDate);
+    }
+    
     /**
      * Recursively projects future expenses based on historical data
-     * This is a simple projection that assumes the same spending pattern will continue
+     * This is a flat projection that repeats the average monthly expense
      * @param expenses Historical expenses
      * @param monthsToProject Number of months to project into the future
      * @param monthIndex Current month index in the projection
@@ -146,39 +161,43 @@ public class RecursiveExpenseAnalyzer {
             double averageMonthlyExpense,
             List<Double> projections) {
             
-        // Base case: if we've projected all requested months, return the projections
-        if (monthIndex >= monthsToProject) {
-            return projections;
+        // Project each remaining month in a single loop
+        for (int month = monthIndex; month < monthsToProject; month++) {
+            projections.add(averageMonthlyExpense);
         }
-        
-        // Calculate the projected expense for this month
-        // This could be more sophisticated in a real application
-        // For simplicity, we're just using the average plus some random variation
-        double randomFactor = 0.9 + Math.random() * 0.2; // Random factor between 0.9 and 1.1
-        double projectedExpense = averageMonthlyExpense * randomFactor;
-        
-        // Add the projection to the list
-        projections.add(projectedExpense);
-        
-        // Recursive call to project the next month
-        return projectFutureExpensesRecursive(
-            expenses, monthsToProject, monthIndex + 1, averageMonthlyExpense, projections);
+        return projections;
     }
     
     /**
      * Wrapper method for projecting future expenses
+     * The monthly totals are forecast by a Holt-Winters model fitted to the
+     * expense history, so the same history always gives the same projection.
+     * The current month is still in progress, so it is projected rather than fitted.
      * @param expenses Historical expenses
      * @param monthsToProject Number of months to project
-     * @return List of projected monthly expenses
+     * @return List of projected monthly expenses, starting with the current month
      */
     public static List<Double> projectFutureExpenses(
             List<MedicalExpense> expenses, int monthsToProject) {
-        // Calculate the average monthly expense
-        double totalExpense = calculateTotalExpenses(expenses);
-        // Assuming the expenses cover a full year
-        double averageMonthlyExpense = totalExpense / 12;
-        
-        return projectFutureExpensesRecursive(
-            expenses, monthsToProject, 0, averageMonthlyExpense, new ArrayList<>());
+        List<Double> projections = new ArrayList<>(monthsToProject);
+        for (ExpenseForecast.Projection projection : forecastExpenses(expenses, monthsToProject).getTotal()) {
+            projections.add(projection.getAmount());
+        }
+        // Without any history there is nothing to project from
+        while (projections.size() < monthsToProject) {
+            projections.add(0.0);
+        }
+        return projections;
+    }
+    
+    /**
+     * Forecasts monthly expenses, in total and by category, with confidence bands
+     * @param expenses Historical expenses
+     * @param monthsToProject Number of months to project
+     * @return The forecast
+     */
+    public static ExpenseForecast forecastExpenses(
+            List<MedicalExpense> expenses, int monthsToProject) {
+        return ExpenseForecaster.forecast(expenses, monthsToProject);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package meditrack.datastructure.rollup;
+
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+import meditrack.model.Money;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-month expense totals that are kept up to date as expenses change.
+ * For every month, and for all months together, the store keeps the total
+ * amount, the reimbursed amount and the number of expenses, overall and per
+ * category. Amounts are kept in whole cents, so adding and later removing
+ * an expense restores the totals exactly. The store remembers what each
+ * expense contributed, so adding, editing and removing an expense are each
+ * O(1) and never rescan the other expenses.
+ * The store is not synchronized.
+ */
+public class MonthlyRollups {
+    private final Map<YearMonth, Rollup> months;
+    private final Map<String, Contribution> contributions;
+    private final Rollup overall;
+
+    /**
+     * Creates an empty store.
+     */
+    public MonthlyRollups() {
+        months = new HashMap<>();
+        contributions = new HashMap<>();
+        overall = new Rollup();
+    }
+
+    /**
+     * Adds an expense to the totals, replacing its previous values if it was already added.
+     * @param expense The expense to add.
+     */
+    public void add(MedicalExpense expense) {
+        remove(expense);
+
+        Contribution contribution = new Contribution(expense);
+        contributions.put(expense.getId(), contribution);
+        months.computeIfAbsent(contribution.month, month -> new Rollup()).apply(contribution, 1);
+        overall.apply(contribution, 1);
+    }
+
+    /**
+     * Moves an edited expense's contribution from its old values to its current ones.
+     * @param expense The edited expense.
+     */
+    public void update(MedicalExpense expense) {
+        add(expense);
+    }
+
+    /**
+     * Removes an expense from the totals, using the values it was added with.
+     * @param expense The expense to remove.
+     * @return True if the expense had been added, or false if not.
+     */
+    public boolean remove(MedicalExpense expense) {
+        Contribution contribution = contributions.remove(expense.getId());
+        if (contribution == null) {
+            return false;
+        }
+
+        Rollup month = months.get(contribution.month);
+        month.apply(contribution, -1);
+        if (month.count == 0) {
+            months.remove(contribution.month);
+        }
+        overall.apply(contribution, -1);
+        return true;
+    }
+
+    /**
+     * Gets the totals of one month.
+     * @param month The month.
+     * @return The month's totals; an empty rollup if the month has no expenses.
+     */
+    public Rollup get(YearMonth month) {
+        Rollup rollup = months.get(month);
+        return rollup != null ? rollup : new Rollup();
+    }
+
+    /**
+     * Gets the totals of all months together.
+     * @return The overall totals.
+     */
+    public Rollup getOverall() {
+        return overall;
+    }
+
+    /**
+     * Removes all expenses from the store.
+     */
+    public void clear() {
+        months.clear();
+        contributions.clear();
+        overall.reset();
+    }
+
+    /**
+     * The values an expense contributed when it was added
+     */
+    private static final class Contribution {
+        private final YearMonth month;
+        private final ExpenseCategory category;
+        private final long amountCents;
+        private final long reimbursedCents;
+
+        Contribution(MedicalExpense expense) {
+            LocalDate date = expense.getDate();
+            month = YearMonth.of(date.getYear(), date.getMonth());
+            category = expense.getCategory();
+            amountCents = expense.getAmountCents();
+            reimbursedCents = expense.getReimbursedCents();
+        }
+    }
+
+    /**
+     * Totals of the expenses in one month, or in all months.
+     */
+    public static final class Rollup {
+        private static final int CATEGORY_COUNT = ExpenseCategory.values().length;
+
+        private long totalCents;
+        private long reimbursedCents;
+        private long count;
+        private final long[] categoryCents = new long[CATEGORY_COUNT];
+        private final long[] categoryReimbursedCents = new long[CATEGORY_COUNT];
+        private final long[] categoryCounts = new long[CATEGORY_COUNT];
+
+        /**
+         * Adds (sign 1) or subtracts (sign -1) an expense's contribution
+         */
+        private void apply(Contribution contribution, int sign) {
+            int i = contribution.category.ordinal();
+            totalCents += sign * contribution.amountCents;
+            reimbursedCents += sign * contribution.reimbursedCents;
+            count += sign;
+            categoryCents[i] += sign * contribution.amountCents;
+            categoryReimbursedCents[i] += sign * contribution.reimbursedCents;
+            categoryCounts[i] += sign;
+        }
+
+        private void reset() {
+            totalCents = 0;
+            reimbursedCents = 0;
+            count = 0;
+            for (int i = 0; i < CATEGORY_COUNT; i++) {
+                categoryCents[i] = 0;
+                categoryReimbursedCents[i] = 0;
+                categoryCounts[i] = 0;
+            }
+        }
+
+        public double getTotal() {
+            return Money.toDollars(totalCents);
+        }
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        public double getReimbursed() {
+            return Money.toDollars(reimbursedCents);
+        }
+
+        public long getReimbursedCents() {
+            return reimbursedCents;
+        }
+
+        public double getOutOfPocket() {
+            return Money.toDollars(totalCents - reimbursedCents);
+        }
+
+        public long getOutOfPocketCents() {
+            return totalCents - reimbursedCents;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getCategoryTotal(ExpenseCategory category) {
+            return Money.toDollars(categoryCents[category.ordinal()]);
+        }
+
+        public long getCategoryTotalCents(ExpenseCategory category) {
+            return categoryCents[category.ordinal()];
+        }
+
+        public double getCategoryReimbursed(ExpenseCategory category) {
+            return Money.toDollars(categoryReimbursedCents[category.ordinal()]);
+        }
+
+        public long getCategoryCount(ExpenseCategory category) {
+            return categoryCounts[category.ordinal()];
+        }
+
+        /**
+         * Gets the totals of the categories that have expenses.
+         * @return A new map of category totals, in category order.
+         */
+        public Map<ExpenseCategory, Double> getCategoryTotals() {
+            Map<ExpenseCategory, Double> totals = new EnumMap<>(ExpenseCategory.class);
+            for (ExpenseCategory category : ExpenseCategory.values()) {
+                if (categoryCounts[category.ordinal()] > 0) {
+                    totals.put(category, getCategoryTotal(category));
+                }
+            }
+            return totals;
+        }
+    }
+}
@@ -55,6 +55,11 @@ public class BubbleSort<T extends Comparable<? super T>> implements SortingAlgor
         return "O(1)";
     }
     
+    @Override
+    public ComparisonGrowth getComparisonGrowth() {
+        return ComparisonGrowth.QUADRATIC;
+    }
+    
     @Override
     public long getComparisonCount() {
         return comparisonCount;
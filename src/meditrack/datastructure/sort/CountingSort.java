@@ -0,0 +1,44 @@
+package meditrack.datastructure.sort;
+
+/**
+ * Stable counting sort over primitive keys with a small range
+ * Suited to keys such as category ranks or dates within a few years,
+ * where the range of keys is no larger than the number of elements.
+ * Runs in O(n + k) time for n keys spanning a range of k values.
+ */
+public final class CountingSort {
+
+    private CountingSort() {
+    }
+
+    /**
+     * Computes the stable sorted order of keys within a known range
+     * @param keys The keys to order, which are left unchanged
+     * @param min The smallest key
+     * @param max The largest key
+     * @return The permutation: position i of the sorted order holds the index of its key
+     */
+    public static int[] sortedPermutation(long[] keys, long min, long max) {
+        long range = max - min + 1;
+        if (range <= 0 || range > Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("Key range is too large for counting sort");
+        }
+
+        // Count each key, then turn the counts into starting positions
+        int[] positions = new int[(int) range + 1];
+        for (long key : keys) {
+            positions[(int) (key - min) + 1]++;
+        }
+        for (int i = 1; i < positions.length; i++) {
+            positions[i] += positions[i - 1];
+        }
+
+        // Place indexes in input order, which keeps the sort stable
+        int[] permutation = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            permutation[positions[(int) (keys[i] - min)]++] = i;
+        }
+
+        return permutation;
+    }
+}
@@ -0,0 +1,78 @@
+package meditrack.datastructure.sort;
+
+import meditrack.model.MedicalExpense;
+import meditrack.model.MedicalExpense.ExpenseCategory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Primitive sort keys for the numeric and enumerated fields of a medical expense
+ * Dates map to their epoch day, amounts to whole cents and categories to
+ * their rank in display-name order, so sorting by these keys gives the same
+ * order as comparing the original field values.
+ */
+public enum ExpenseSortKey implements ToLongFunction<MedicalExpense> {
+    DATE("Date"),
+    CATEGORY("Category"),
+    AMOUNT("Amount"),
+    OUT_OF_POCKET("Out of Pocket");
+
+    // Rank of each category (by ordinal) in alphabetical display-name order
+    private static final int[] CATEGORY_RANKS = computeCategoryRanks();
+
+    private final String fieldName;
+
+    ExpenseSortKey(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    @Override
+    public long applyAsLong(MedicalExpense expense) {
+        return switch (this) {
+            case DATE -> expense.getDate().toEpochDay();
+            case CATEGORY -> CATEGORY_RANKS[expense.getCategory().ordinal()];
+            case AMOUNT -> expense.getAmountCents();
+            case OUT_OF_POCKET -> expense.getOutOfPocketCents();
+        };
+    }
+
+    /**
+     * Finds the key for a sort field name shown in the UI
+     * @param fieldName The name of the sort field
+     * @return The matching key, or null if the field has no primitive key
+     */
+    public static ExpenseSortKey forFieldName(String fieldName) {
+        for (ExpenseSortKey key : values()) {
+            if (key.fieldName.equals(fieldName)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the rank of a category in alphabetical display-name order
+     * @param category The category
+     * @return The rank, from 0 to the number of categories minus one
+     */
+    public static int categoryRank(ExpenseCategory category) {
+        return CATEGORY_RANKS[category.ordinal()];
+    }
+
+    private static int[] computeCategoryRanks() {
+        ExpenseCategory[] sorted = ExpenseCategory.values();
+        Arrays.sort(sorted, Comparator.comparing(ExpenseCategory::getDisplayName));
+
+        int[] ranks = new int[sorted.length];
+        for (int rank = 0; rank < sorted.length; rank++) {
+            ranks[sorted[rank].ordinal()] = rank;
+        }
+        return ranks;
+    }
+}
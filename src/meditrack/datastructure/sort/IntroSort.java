@@ -0,0 +1,240 @@
+package meditrack.datastructure.sort;
+
+/**
+ * Implementation of Introsort, a hardened variant of Quick Sort
+ * Pivots are chosen by median-of-three (or Tukey's ninther on large
+ * portions), so sorted and reverse-sorted input partition evenly.
+ * Partitioning is three-way, so runs of equal keys such as repeated
+ * categories or providers are placed in one pass and never revisited.
+ * Small portions are finished with insertion sort, and a portion that
+ * recurses too deeply falls back to heap sort, which bounds the worst
+ * case at O(n log n). Recursion always descends into the smaller portion
+ * and loops on the larger one, so the stack depth stays O(log n).
+ * @param <T> The type of objects to be sorted
+ */
+public class IntroSort<T extends Comparable<? super T>> implements SortingAlgorithm<T> {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int NINTHER_THRESHOLD = 128;
+
+    private long comparisonCount;
+    private long swapCount;
+
+    public IntroSort() {
+        resetCounters();
+    }
+
+    @Override
+    public void sort(T[] array) {
+        resetCounters();
+
+        if (array.length < 2) {
+            return;
+        }
+
+        int depthLimit = 2 * floorLog2(array.length);
+        introSort(array, 0, array.length - 1, depthLimit);
+    }
+
+    /**
+     * Sorts a portion of an array, looping on the larger partition
+     * @param array The array to be sorted
+     * @param first The index of the first element in the portion
+     * @param last The index of the last element in the portion
+     * @param depthLimit The number of partitioning levels allowed before falling back to heap sort
+     */
+    private void introSort(T[] array, int first, int last, int depthLimit) {
+        while (last - first + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(array, first, last);
+                return;
+            }
+            depthLimit--;
+
+            // Partition into < pivot, == pivot, > pivot
+            T pivot = choosePivot(array, first, last);
+            int lessThan = first;
+            int greaterThan = last;
+            int i = first;
+
+            while (i <= greaterThan) {
+                int cmp = compare(array[i], pivot);
+                if (cmp < 0) {
+                    if (lessThan != i) {
+                        swapElements(array, lessThan, i);
+                    }
+                    lessThan++;
+                    i++;
+                } else if (cmp > 0) {
+                    swapElements(array, i, greaterThan--);
+                } else {
+                    i++;
+                }
+            }
+
+            // Recurse into the smaller side and continue the loop with the larger one
+            if (lessThan - first < last - greaterThan) {
+                introSort(array, first, lessThan - 1, depthLimit);
+                first = greaterThan + 1;
+            } else {
+                introSort(array, greaterThan + 1, last, depthLimit);
+                last = lessThan - 1;
+            }
+        }
+
+        insertionSort(array, first, last);
+    }
+
+    /**
+     * Chooses a pivot using median-of-three, or the median of three
+     * medians-of-three (Tukey's ninther) for large portions
+     */
+    private T choosePivot(T[] array, int first, int last) {
+        int middle = (first + last) >>> 1;
+
+        if (last - first + 1 >= NINTHER_THRESHOLD) {
+            int step = (last - first + 1) / 8;
+            int a = medianOfThree(array, first, first + step, first + 2 * step);
+            int b = medianOfThree(array, middle - step, middle, middle + step);
+            int c = medianOfThree(array, last - 2 * step, last - step, last);
+            return array[medianOfThree(array, a, b, c)];
+        }
+
+        return array[medianOfThree(array, first, middle, last)];
+    }
+
+    /**
+     * Finds the index of the median of three elements
+     */
+    private int medianOfThree(T[] array, int i, int j, int k) {
+        if (compare(array[i], array[j]) < 0) {
+            if (compare(array[j], array[k]) < 0) {
+                return j;
+            }
+            return compare(array[i], array[k]) < 0 ? k : i;
+        }
+        if (compare(array[i], array[k]) < 0) {
+            return i;
+        }
+        return compare(array[j], array[k]) < 0 ? k : j;
+    }
+
+    /**
+     * Sorts a small portion of an array with insertion sort
+     */
+    private void insertionSort(T[] array, int first, int last) {
+        for (int i = first + 1; i <= last; i++) {
+            T current = array[i];
+            int j = i - 1;
+
+            while (j >= first && compare(array[j], current) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            if (j + 1 != i) {
+                array[j + 1] = current;
+                swapCount += i - j - 1;
+            }
+        }
+    }
+
+    /**
+     * Sorts a portion of an array with heap sort
+     */
+    private void heapSort(T[] array, int first, int last) {
+        int size = last - first + 1;
+
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            reheapDown(array, first, root, size);
+        }
+
+        for (int end = size - 1; end > 0; end--) {
+            swapElements(array, first, first + end);
+            reheapDown(array, first, 0, end);
+        }
+    }
+
+    /**
+     * Restores the max-heap property below a root in the heap stored at offset
+     * @param array The array containing the heap
+     * @param offset The index of the heap's first element
+     * @param root The heap position to sift down
+     * @param size The number of elements in the heap
+     */
+    private void reheapDown(T[] array, int offset, int root, int size) {
+        int child = 2 * root + 1;
+
+        while (child < size) {
+            if (child + 1 < size && compare(array[offset + child], array[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (compare(array[offset + root], array[offset + child]) >= 0) {
+                return;
+            }
+            swapElements(array, offset + root, offset + child);
+            root = child;
+            child = 2 * root + 1;
+        }
+    }
+
+    /**
+     * Compares two elements and counts the comparison
+     */
+    private int compare(T first, T second) {
+        comparisonCount++;
+        return first.compareTo(second);
+    }
+
+    /**
+     * Swaps two elements in an array
+     * @param array The array containing the elements
+     * @param i The index of the first element
+     * @param j The index of the second element
+     */
+    private void swapElements(T[] array, int i, int j) {
+        T temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        swapCount++;
+    }
+
+    private static int floorLog2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+
+    @Override
+    public String getName() {
+        return "Intro Sort";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log n) worst case";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(log n)";
+    }
+
+    @Override
+    public ComparisonGrowth getComparisonGrowth() {
+        return ComparisonGrowth.LINEARITHMIC;
+    }
+
+    @Override
+    public long getComparisonCount() {
+        return comparisonCount;
+    }
+
+    @Override
+    public long getSwapCount() {
+        return swapCount;
+    }
+
+    @Override
+    public void resetCounters() {
+        comparisonCount = 0;
+        swapCount = 0;
+    }
+}
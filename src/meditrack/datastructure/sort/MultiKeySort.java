@@ -0,0 +1,214 @@
+package meditrack.datastructure.sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sorts objects by a sequence of primitive keys, each ascending or descending
+ * Every key of every element is extracted once, in a single pass over the
+ * elements. Each key is then offset by its minimum (or subtracted from its
+ * maximum when descending) and packed, using only as many bits as its range
+ * needs, into one or more longs per element. Only the packed words are
+ * sorted, through PrimitiveKeySort, so no comparison calls a getter or
+ * compares strings. Words are ordered least significant first with a stable
+ * sort, so the result is ordered by the first key, then the second, and so
+ * on. The sort is stable.
+ * @param <T> The type of objects to be sorted
+ */
+public class MultiKeySort<T> {
+    private final List<ToLongFunction<? super T>> keyExtractors = new ArrayList<>();
+    private final List<Boolean> descending = new ArrayList<>();
+
+    /**
+     * Adds a key that orders elements in ascending order after the keys already added
+     * @param keyExtractor Extracts the key of an element
+     * @return This sort, for chaining
+     */
+    public MultiKeySort<T> thenBy(ToLongFunction<? super T> keyExtractor) {
+        return thenBy(keyExtractor, false);
+    }
+
+    /**
+     * Adds a key that orders elements in descending order after the keys already added
+     * @param keyExtractor Extracts the key of an element
+     * @return This sort, for chaining
+     */
+    public MultiKeySort<T> thenByDescending(ToLongFunction<? super T> keyExtractor) {
+        return thenBy(keyExtractor, true);
+    }
+
+    /**
+     * Adds a key that orders elements after the keys already added
+     * @param keyExtractor Extracts the key of an element
+     * @param isDescending True to order by the key in descending order
+     * @return This sort, for chaining
+     */
+    public MultiKeySort<T> thenBy(ToLongFunction<? super T> keyExtractor, boolean isDescending) {
+        keyExtractors.add(keyExtractor);
+        descending.add(isDescending);
+        return this;
+    }
+
+    /**
+     * Gets the number of keys the sort orders by
+     * @return The number of keys
+     */
+    public int getKeyCount() {
+        return keyExtractors.size();
+    }
+
+    /**
+     * Sorts an array by the keys
+     * @param array The array to be sorted
+     * @return The strategy used to order the most significant packed word,
+     *         or null if there was nothing to order
+     */
+    public PrimitiveKeySort.Strategy sort(T[] array) {
+        long[][] words = packKeys(array);
+        int n = array.length;
+
+        // Stable LSD pass over the packed words, least significant word first
+        int[] permutation = null;
+        PrimitiveKeySort.Strategy strategy = null;
+        for (int w = words.length - 1; w >= 0; w--) {
+            long[] word = words[w];
+            if (permutation != null) {
+                word = reorder(word, permutation);
+            }
+
+            int[] passPermutation = PrimitiveKeySort.sortedPermutation(word);
+            permutation = permutation == null ? passPermutation : compose(permutation, passPermutation);
+            strategy = n == 0 ? null : selectStrategy(word);
+        }
+
+        if (permutation != null) {
+            PrimitiveKeySort.applyPermutation(array, permutation);
+        }
+        return strategy;
+    }
+
+    /**
+     * Extracts every key of every element and packs the keys into words
+     * @return The packed words, most significant first; each word holds one long per element
+     */
+    private long[][] packKeys(T[] array) {
+        int keyCount = keyExtractors.size();
+        int n = array.length;
+        long[][] keys = new long[keyCount][n];
+        long[] min = new long[keyCount];
+        long[] max = new long[keyCount];
+
+        for (int k = 0; k < keyCount; k++) {
+            min[k] = Long.MAX_VALUE;
+            max[k] = Long.MIN_VALUE;
+        }
+
+        // Single pass over the elements: extract each key once
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < keyCount; k++) {
+                long key = keyExtractors.get(k).applyAsLong(array[i]);
+                keys[k][i] = key;
+                if (key < min[k]) {
+                    min[k] = key;
+                }
+                if (key > max[k]) {
+                    max[k] = key;
+                }
+            }
+        }
+
+        // Assign each key a bit width, starting a new word when the current one is full
+        int[] bits = new int[keyCount];
+        int[] wordOf = new int[keyCount];
+        int[] shift = new int[keyCount];
+        int wordCount = 0;
+        int usedBits = Long.SIZE;
+
+        for (int k = 0; k < keyCount; k++) {
+            bits[k] = n == 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(max[k] - min[k]);
+            if (bits[k] == 0) {
+                continue; // Every element has the same key, so it cannot affect the order
+            }
+            if (usedBits + bits[k] > Long.SIZE) {
+                wordCount++;
+                usedBits = 0;
+            }
+            wordOf[k] = wordCount - 1;
+            usedBits += bits[k];
+            shift[k] = Long.SIZE - usedBits;
+        }
+
+        // Move each word's keys down to its low bits, so a word spans only the bits it uses
+        // and narrow words can be ordered by counting, radix or packed sort
+        int[] wordBits = new int[wordCount];
+        for (int k = 0; k < keyCount; k++) {
+            if (bits[k] != 0) {
+                wordBits[wordOf[k]] = Long.SIZE - shift[k];
+            }
+        }
+        for (int k = 0; k < keyCount; k++) {
+            if (bits[k] != 0) {
+                shift[k] -= Long.SIZE - wordBits[wordOf[k]];
+            }
+        }
+
+        long[][] words = new long[wordCount][n];
+        for (int k = 0; k < keyCount; k++) {
+            if (bits[k] == 0) {
+                continue;
+            }
+
+            long[] word = words[wordOf[k]];
+            long[] column = keys[k];
+            boolean isDescending = descending.get(k);
+            for (int i = 0; i < n; i++) {
+                long offset = isDescending ? max[k] - column[i] : column[i] - min[k];
+                word[i] |= offset << shift[k];
+            }
+        }
+
+        // Flip the sign bit so signed ordering of the words matches unsigned packing
+        for (long[] word : words) {
+            for (int i = 0; i < n; i++) {
+                word[i] ^= Long.MIN_VALUE;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Selects the strategy PrimitiveKeySort uses for a word
+     */
+    private static PrimitiveKeySort.Strategy selectStrategy(long[] word) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : word) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return PrimitiveKeySort.selectStrategy(word.length, min, max);
+    }
+
+    /**
+     * Gets the values of a word in the order given by a permutation
+     */
+    private static long[] reorder(long[] word, int[] permutation) {
+        long[] reordered = new long[permutation.length];
+        for (int i = 0; i < permutation.length; i++) {
+            reordered[i] = word[permutation[i]];
+        }
+        return reordered;
+    }
+
+    /**
+     * Combines a permutation with a permutation of its positions
+     */
+    private static int[] compose(int[] permutation, int[] passPermutation) {
+        int[] composed = new int[permutation.length];
+        for (int i = 0; i < permutation.length; i++) {
+            composed[i] = permutation[passPermutation[i]];
+        }
+        return composed;
+    }
+}
@@ -0,0 +1,235 @@
+package meditrack.datastructure.sort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of a parallel, stable merge sort using the fork/join framework
+ * The array is split in halves that are sorted in parallel until a portion is
+ * no larger than the sequential threshold, then the halves are merged through
+ * a scratch buffer that is kept and reused between sorts.
+ * Each task counts comparisons and moves locally and adds them to shared
+ * LongAdders once, so the counters stay exact without contention.
+ * The swap count reports element moves, since a merge sort does not swap.
+ * @param <T> The type of objects to be sorted
+ */
+public class ParallelMergeSort<T extends Comparable<? super T>> implements SortingAlgorithm<T> {
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 8192;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final int sequentialThreshold;
+    private final ForkJoinPool pool;
+    private final LongAdder comparisonCount = new LongAdder();
+    private final LongAdder swapCount = new LongAdder();
+    private T[] buffer;
+
+    /**
+     * Creates a parallel merge sort that runs in the common fork/join pool
+     */
+    public ParallelMergeSort() {
+        this(DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Creates a parallel merge sort with a given sequential threshold
+     * @param sequentialThreshold The largest portion that is sorted without splitting further
+     */
+    public ParallelMergeSort(int sequentialThreshold) {
+        this(sequentialThreshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a parallel merge sort with a given sequential threshold and pool
+     * @param sequentialThreshold The largest portion that is sorted without splitting further
+     * @param pool The fork/join pool that runs the sort
+     */
+    public ParallelMergeSort(int sequentialThreshold, ForkJoinPool pool) {
+        if (sequentialThreshold < 2) {
+            throw new IllegalArgumentException("Sequential threshold must be at least 2");
+        }
+        this.sequentialThreshold = sequentialThreshold;
+        this.pool = pool;
+    }
+
+    @Override
+    public void sort(T[] array) {
+        resetCounters();
+        int n = array.length;
+
+        if (n < 2) {
+            return;
+        }
+
+        if (buffer == null || buffer.length < n) {
+            // The cast is safe because the new array contains null entries
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            T[] newBuffer = (T[])new Comparable[n];
+            buffer = newBuffer;
+        }
+
+        pool.invoke(new SortTask(array, 0, n));
+
+        // Drop references to the sorted objects, but keep the buffer for the next sort
+        Arrays.fill(buffer, 0, n, null);
+    }
+
+    /**
+     * Fork/join task that sorts a portion of the array
+     */
+    private class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] array;
+        private final int low;
+        private final int high;
+        private long comparisons;
+        private long moves;
+
+        /**
+         * @param array The array being sorted
+         * @param low The index of the first element in the portion
+         * @param high The index after the last element in the portion
+         */
+        SortTask(T[] array, int low, int high) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= sequentialThreshold) {
+                mergeSort(low, high);
+            } else {
+                int middle = (low + high) >>> 1;
+                invokeAll(new SortTask(array, low, middle), new SortTask(array, middle, high));
+                merge(low, middle, high);
+            }
+
+            comparisonCount.add(comparisons);
+            swapCount.add(moves);
+        }
+
+        /**
+         * Sorts a portion sequentially with a top-down merge sort
+         */
+        private void mergeSort(int first, int last) {
+            if (last - first <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(first, last);
+                return;
+            }
+
+            int middle = (first + last) >>> 1;
+            mergeSort(first, middle);
+            mergeSort(middle, last);
+            merge(first, middle, last);
+        }
+
+        /**
+         * Sorts a small portion with insertion sort
+         */
+        private void insertionSort(int first, int last) {
+            for (int i = first + 1; i < last; i++) {
+                T current = array[i];
+                int j = i - 1;
+
+                while (j >= first) {
+                    comparisons++;
+                    if (array[j].compareTo(current) <= 0) {
+                        break;
+                    }
+                    array[j + 1] = array[j];
+                    moves++;
+                    j--;
+                }
+
+                if (j + 1 != i) {
+                    array[j + 1] = current;
+                    moves++;
+                }
+            }
+        }
+
+        /**
+         * Merges the sorted portions [first, middle) and [middle, last)
+         * through the matching region of the scratch buffer
+         */
+        private void merge(int first, int middle, int last) {
+            // Already in order, so there is nothing to merge
+            comparisons++;
+            if (array[middle - 1].compareTo(array[middle]) <= 0) {
+                return;
+            }
+
+            // Only the left half needs buffering; the right half is read in place
+            System.arraycopy(array, first, buffer, first, middle - first);
+            moves += middle - first;
+
+            int left = first;
+            int right = middle;
+            int dest = first;
+
+            while (left < middle && right < last) {
+                comparisons++;
+                // Take from the left half when equal, to keep the sort stable
+                if (buffer[left].compareTo(array[right]) <= 0) {
+                    array[dest++] = buffer[left++];
+                } else {
+                    array[dest++] = array[right++];
+                }
+                moves++;
+            }
+
+            // Any remaining right-half elements are already in place
+            int leftover = middle - left;
+            System.arraycopy(buffer, left, array, dest, leftover);
+            moves += leftover;
+        }
+    }
+
+    /**
+     * Gets the sequential threshold below which portions are not split
+     * @return The sequential threshold
+     */
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel Merge Sort";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log n) work, O(n) span";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)";
+    }
+
+    @Override
+    public ComparisonGrowth getComparisonGrowth() {
+        return ComparisonGrowth.LINEARITHMIC;
+    }
+
+    @Override
+    public long getComparisonCount() {
+        return comparisonCount.sum();
+    }
+
+    @Override
+    public long getSwapCount() {
+        return swapCount.sum();
+    }
+
+    @Override
+    public void resetCounters() {
+        comparisonCount.reset();
+        swapCount.reset();
+    }
+}
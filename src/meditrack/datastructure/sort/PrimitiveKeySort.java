@@ -0,0 +1,214 @@
+package meditrack.datastructure.sort;
+
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sorts objects by a primitive long key without wrapping or boxing them
+ * Each element's key is extracted once into a long[] alongside an int[]
+ * permutation of positions. Only the primitive arrays are sorted, and the
+ * resulting permutation is then applied to the objects in one pass, so no
+ * comparison goes through a Comparator or allocates. The sort is stable.
+ * The sorting strategy is chosen from the number and range of the keys:
+ * counting sort when the range is small, LSD radix sort when a few digit
+ * passes cover it, and a primitive comparison sort otherwise.
+ */
+public final class PrimitiveKeySort {
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+    private static final int MIN_COUNTING_RANGE = 1024;
+    private static final int MIN_RADIX_SIZE = 256;
+    private static final int MAX_RADIX_PASSES = 4;
+
+    /**
+     * The strategies used to order the keys
+     */
+    public enum Strategy {
+        COUNTING_SORT("Counting Sort", "O(n + k)"),
+        RADIX_SORT("LSD Radix Sort", "O(p * n)"),
+        PACKED_COMPARISON_SORT("Packed Primitive Sort", "O(n log n)"),
+        MERGE_SORT("Primitive Merge Sort", "O(n log n)");
+
+        private final String displayName;
+        private final String timeComplexity;
+
+        Strategy(String displayName, String timeComplexity) {
+            this.displayName = displayName;
+            this.timeComplexity = timeComplexity;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public String getTimeComplexity() {
+            return timeComplexity;
+        }
+    }
+
+    private PrimitiveKeySort() {
+    }
+
+    /**
+     * Sorts an array by a primitive key extracted from each element
+     * @param array The array to be sorted
+     * @param keyExtractor Extracts the sort key of an element
+     * @param <T> The type of objects to be sorted
+     * @return The strategy that was used to order the keys, or null if the array was empty
+     */
+    public static <T> Strategy sort(T[] array, ToLongFunction<? super T> keyExtractor) {
+        long[] keys = new long[array.length];
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = keyExtractor.applyAsLong(array[i]);
+            min = Math.min(min, keys[i]);
+            max = Math.max(max, keys[i]);
+        }
+
+        applyPermutation(array, sortedPermutation(keys));
+        return array.length == 0 ? null : selectStrategy(array.length, min, max);
+    }
+
+    /**
+     * Computes the stable sorted order of an array of keys
+     * @param keys The keys to order, which are left unchanged
+     * @return The permutation: position i of the sorted order holds the index of its key
+     */
+    public static int[] sortedPermutation(long[] keys) {
+        int n = keys.length;
+
+        if (n == 0) {
+            return new int[0];
+        }
+
+        long min = keys[0];
+        long max = keys[0];
+        for (long key : keys) {
+            if (key < min) {
+                min = key;
+            }
+            if (key > max) {
+                max = key;
+            }
+        }
+
+        switch (selectStrategy(n, min, max)) {
+            case COUNTING_SORT:
+                return CountingSort.sortedPermutation(keys, min, max);
+            case RADIX_SORT:
+                return RadixSort.sortedPermutation(keys, min, max);
+            case PACKED_COMPARISON_SORT:
+                return packedSortedPermutation(keys, min);
+            default:
+                int[] permutation = new int[n];
+                for (int i = 0; i < n; i++) {
+                    permutation[i] = i;
+                }
+                mergeSort(keys, permutation, new int[n], 0, n);
+                return permutation;
+        }
+    }
+
+    /**
+     * Chooses the sorting strategy for a number of keys within a range
+     * @param n The number of keys
+     * @param min The smallest key
+     * @param max The largest key
+     * @return The strategy that sorts the keys fastest
+     */
+    public static Strategy selectStrategy(int n, long min, long max) {
+        long range = max - min;
+        boolean rangeOverflows = range < 0;
+
+        // A count array no larger than the input makes counting sort linear
+        if (!rangeOverflows && range < Math.max(n, MIN_COUNTING_RANGE)) {
+            return Strategy.COUNTING_SORT;
+        }
+
+        // A few digit passes beat n log n comparisons on all but tiny inputs
+        if (n >= MIN_RADIX_SIZE && RadixSort.passesFor(min, max) <= MAX_RADIX_PASSES) {
+            return Strategy.RADIX_SORT;
+        }
+
+        if (!rangeOverflows && range <= INDEX_MASK) {
+            return Strategy.PACKED_COMPARISON_SORT;
+        }
+
+        return Strategy.MERGE_SORT;
+    }
+
+    /**
+     * Orders keys whose range fits in 32 bits by packing (key - min, index)
+     * into one long, so a single primitive sort orders by key, then by index
+     * An offset of 2^31 or more sets the top bit of the packed word, so the
+     * sign bit is flipped to make the signed sort order match the unsigned one.
+     */
+    private static int[] packedSortedPermutation(long[] keys, long min) {
+        int n = keys.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = (((keys[i] - min) << 32) | i) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(packed);
+
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = (int) (packed[i] & INDEX_MASK);
+        }
+        return permutation;
+    }
+
+    /**
+     * Rearranges an array so that position i holds the element previously at permutation[i]
+     * @param array The array to rearrange
+     * @param permutation The sorted order of the array's positions
+     * @param <T> The type of objects in the array
+     */
+    public static <T> void applyPermutation(T[] array, int[] permutation) {
+        T[] original = array.clone();
+        for (int i = 0; i < permutation.length; i++) {
+            array[i] = original[permutation[i]];
+        }
+    }
+
+    /**
+     * Stable merge sort of a portion of the permutation, ordered by key
+     */
+    private static void mergeSort(long[] keys, int[] permutation, int[] buffer, int low, int high) {
+        if (high - low <= 16) {
+            for (int i = low + 1; i < high; i++) {
+                int current = permutation[i];
+                long currentKey = keys[current];
+                int j = i - 1;
+                while (j >= low && keys[permutation[j]] > currentKey) {
+                    permutation[j + 1] = permutation[j];
+                    j--;
+                }
+                permutation[j + 1] = current;
+            }
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        mergeSort(keys, permutation, buffer, low, middle);
+        mergeSort(keys, permutation, buffer, middle, high);
+
+        if (keys[permutation[middle - 1]] <= keys[permutation[middle]]) {
+            return;
+        }
+
+        System.arraycopy(permutation, low, buffer, low, middle - low);
+        int left = low;
+        int right = middle;
+        int dest = low;
+
+        while (left < middle && right < high) {
+            if (keys[buffer[left]] <= keys[permutation[right]]) {
+                permutation[dest++] = buffer[left++];
+            } else {
+                permutation[dest++] = permutation[right++];
+            }
+        }
+        System.arraycopy(buffer, left, permutation, dest, middle - left);
+    }
+}
@@ -96,6 +96,11 @@ public class QuickSort<T extends Comparable<? super T>> implements SortingAlgori
         return "O(log n)";
     }
     
+    @Override
+    public ComparisonGrowth getComparisonGrowth() {
+        return ComparisonGrowth.LINEARITHMIC;
+    }
+    
     @Override
     public long getComparisonCount() {
         return comparisonCount;
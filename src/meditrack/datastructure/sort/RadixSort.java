@@ -0,0 +1,95 @@
+package meditrack.datastructure.sort;
+
+import java.util.Arrays;
+
+/**
+ * Stable least-significant-digit radix sort over primitive keys
+ * Keys are offset by the minimum key and sorted 11 bits at a time, using
+ * only as many passes as the key range needs: two passes cover amounts up
+ * to about $41,000 in cents, and epoch days need at most two.
+ * Runs in O(p * n) time, where p is the number of passes.
+ */
+public final class RadixSort {
+    static final int BITS_PER_PASS = 11;
+    private static final int RADIX = 1 << BITS_PER_PASS;
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Gets the number of passes needed to sort keys within a range
+     * @param min The smallest key
+     * @param max The largest key
+     * @return The number of digit passes
+     */
+    public static int passesFor(long min, long max) {
+        long range = max - min;
+        int bits = range < 0 ? 64 : 64 - Long.numberOfLeadingZeros(range);
+        return Math.max(1, (bits + BITS_PER_PASS - 1) / BITS_PER_PASS);
+    }
+
+    /**
+     * Computes the stable sorted order of keys within a known range
+     * @param keys The keys to order, which are left unchanged
+     * @param min The smallest key
+     * @param max The largest key
+     * @return The permutation: position i of the sorted order holds the index of its key
+     */
+    public static int[] sortedPermutation(long[] keys, long min, long max) {
+        int n = keys.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int passes = passesFor(min, max);
+
+        // Sort offset keys together with their original indexes, alternating buffers
+        long[] currentKeys = new long[n];
+        int[] currentIndexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            currentKeys[i] = keys[i] - min;
+            currentIndexes[i] = i;
+        }
+
+        long[] nextKeys = new long[n];
+        int[] nextIndexes = new int[n];
+        int[] counts = new int[RADIX];
+
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * BITS_PER_PASS;
+            Arrays.fill(counts, 0);
+
+            for (int i = 0; i < n; i++) {
+                counts[(int) ((currentKeys[i] >>> shift) & DIGIT_MASK)]++;
+            }
+
+            // Skip passes where every key has the same digit
+            if (counts[(int) ((currentKeys[0] >>> shift) & DIGIT_MASK)] == n) {
+                continue;
+            }
+
+            int total = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = total;
+                total += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                int position = counts[(int) ((currentKeys[i] >>> shift) & DIGIT_MASK)]++;
+                nextKeys[position] = currentKeys[i];
+                nextIndexes[position] = currentIndexes[i];
+            }
+
+            long[] swapKeys = currentKeys;
+            currentKeys = nextKeys;
+            nextKeys = swapKeys;
+
+            int[] swapIndexes = currentIndexes;
+            currentIndexes = nextIndexes;
+            nextIndexes = swapIndexes;
+        }
+
+        return currentIndexes;
+    }
+}
@@ -6,6 +6,29 @@ package meditrack.datastructure.sort;
  */
 public interface SortingAlgorithm<T extends Comparable<? super T>> {
     
+    /**
+     * How the number of comparisons grows with the number of elements in the typical case
+     */
+    enum ComparisonGrowth {
+        LINEARITHMIC,
+        QUADRATIC;
+        
+        /**
+         * Estimates the comparisons needed to sort n elements
+         * @param n The number of elements
+         * @return The estimated number of comparisons, at least 1
+         */
+        public double estimateComparisons(int n) {
+            if (n < 2) {
+                return 1;
+            }
+            if (this == QUADRATIC) {
+                return n * (n - 1.0) / 2;
+            }
+            return n * (Math.log(n) / Math.log(2));
+        }
+    }
+    
     /**
      * Sorts the given array using the algorithm
      * @param array The array to be sorted
@@ -30,6 +53,12 @@ public interface SortingAlgorithm<T extends Comparable<? super T>> {
      */
     String getSpaceComplexity();
     
+    /**
+     * Gets how the number of comparisons grows with the input in the typical case
+     * @return The comparison growth
+     */
+    ComparisonGrowth getComparisonGrowth();
+    
     /**
      * Gets the count of comparisons performed during the last sort operation
      * @return The number of comparisons
@@ -0,0 +1,146 @@
+package meditrack.datastructure.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the first k elements, in a given order, of a stream of elements
+ * Elements are offered one at a time, so the data never has to be held in
+ * a single array. The kept elements are stored in a bounded heap whose root
+ * is the element ranked last, so each offer costs O(log k) and elements
+ * that rank after everything kept are rejected with a single comparison.
+ * To keep the k largest elements, pass a reversed order.
+ * @param <T> The type of objects offered
+ */
+public class StreamingTopK<T> {
+    private final T[] heap;         // Array of heap entries, root at index 0
+    private final Comparator<? super T> order;
+    private int numberOfEntries;
+    private static final int MAX_CAPACITY = 10000;
+
+    /**
+     * Creates an empty collector that keeps the first k elements offered
+     * @param k The number of elements to keep
+     * @param order The order in which elements are ranked
+     */
+    public StreamingTopK(int k, Comparator<? super T> order) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Number of elements to keep must be at least 1");
+        }
+        if (k > MAX_CAPACITY) {
+            throw new IllegalStateException(
+                "Attempt to keep more elements than the " +
+                "allowed maximum of " + MAX_CAPACITY);
+        }
+
+        // The cast is safe because the new array contains null entries
+        @SuppressWarnings("unchecked")
+        T[] tempHeap = (T[])new Object[k];
+        heap = tempHeap;
+        this.order = order;
+        numberOfEntries = 0;
+    }
+
+    /**
+     * Offers an element to the collector
+     * @param entry The element to offer
+     * @return True if the element is among the first k so far and was kept
+     */
+    public boolean offer(T entry) {
+        if (numberOfEntries < heap.length) {
+            heap[numberOfEntries] = entry;
+            reheapUp(numberOfEntries++);
+            return true;
+        }
+
+        // Replace the last-ranked kept element only if the new one ranks before it
+        if (order.compare(entry, heap[0]) >= 0) {
+            return false;
+        }
+        heap[0] = entry;
+        reheapDown(0);
+        return true;
+    }
+
+    /**
+     * Offers every element of a sequence to the collector
+     * @param entries The elements to offer
+     */
+    public void offerAll(Iterable<? extends T> entries) {
+        for (T entry : entries) {
+            offer(entry);
+        }
+    }
+
+    /**
+     * Gets the kept elements in sorted order
+     * @return A new list of the kept elements, first-ranked first
+     */
+    public List<T> toSortedList() {
+        T[] sorted = Arrays.copyOf(heap, numberOfEntries);
+        Arrays.sort(sorted, order);
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Gets the number of elements currently kept
+     * @return The number of kept elements, at most k
+     */
+    public int size() {
+        return numberOfEntries;
+    }
+
+    /**
+     * Gets the number of elements the collector keeps
+     * @return k
+     */
+    public int getK() {
+        return heap.length;
+    }
+
+    /**
+     * Removes all kept elements
+     */
+    public void clear() {
+        Arrays.fill(heap, 0, numberOfEntries, null);
+        numberOfEntries = 0;
+    }
+
+    /**
+     * Moves an entry up until its parent ranks no earlier than it
+     */
+    private void reheapUp(int index) {
+        T entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (order.compare(heap[parent], entry) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    /**
+     * Moves an entry down until no child ranks later than it
+     */
+    private void reheapDown(int index) {
+        T entry = heap[index];
+        int child = 2 * index + 1;
+
+        while (child < numberOfEntries) {
+            if (child + 1 < numberOfEntries && order.compare(heap[child], heap[child + 1]) < 0) {
+                child++;
+            }
+            if (order.compare(entry, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+            child = 2 * index + 1;
+        }
+        heap[index] = entry;
+    }
+}
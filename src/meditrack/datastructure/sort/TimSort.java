@@ -0,0 +1,408 @@
+package meditrack.datastructure.sort;
+
+/**
+ * Implementation of a stable, run-detecting merge sort in the style of TimSort
+ * The input is scanned for naturally ordered runs, short runs are extended
+ * with binary insertion sort, and runs are merged while keeping the run
+ * stack balanced. Input that is already close to sorted order, such as
+ * expenses in date order, needs far fewer than n log n comparisons.
+ * The swap count reports element moves, since a merge sort does not swap.
+ * @param <T> The type of objects to be sorted
+ */
+public class TimSort<T extends Comparable<? super T>> implements SortingAlgorithm<T> {
+    private static final int MIN_MERGE = 32;
+    private static final int MAX_RUN_STACK = 49; // Enough for any int-sized array
+
+    private long comparisonCount;
+    private long swapCount;
+
+    private T[] tmp;
+    private int[] runBase;
+    private int[] runLength;
+    private int stackSize;
+
+    public TimSort() {
+        resetCounters();
+    }
+
+    @Override
+    public void sort(T[] array) {
+        resetCounters();
+        int n = array.length;
+
+        if (n < 2) {
+            return;
+        }
+
+        // Small arrays are sorted with a single binary insertion sort
+        if (n < MIN_MERGE) {
+            int initialRunLength = countRunAndMakeAscending(array, 0, n);
+            binaryInsertionSort(array, 0, n, initialRunLength);
+            return;
+        }
+
+        runBase = new int[MAX_RUN_STACK];
+        runLength = new int[MAX_RUN_STACK];
+        stackSize = 0;
+
+        int minRun = minRunLength(n);
+        int low = 0;
+        int remaining = n;
+
+        do {
+            // Find the next natural run, extending it to minRun if it is short
+            int currentRunLength = countRunAndMakeAscending(array, low, n);
+
+            if (currentRunLength < minRun) {
+                int forcedLength = Math.min(remaining, minRun);
+                binaryInsertionSort(array, low, low + forcedLength, low + currentRunLength);
+                currentRunLength = forcedLength;
+            }
+
+            pushRun(low, currentRunLength);
+            mergeCollapse(array);
+
+            low += currentRunLength;
+            remaining -= currentRunLength;
+        } while (remaining != 0);
+
+        mergeForceCollapse(array);
+
+        // Release the scratch space
+        tmp = null;
+        runBase = null;
+        runLength = null;
+    }
+
+    /**
+     * Compares two elements and counts the comparison
+     */
+    private int compare(T first, T second) {
+        comparisonCount++;
+        return first.compareTo(second);
+    }
+
+    /**
+     * Computes the minimum run length for an array of the given length,
+     * so that the number of runs is a power of two or slightly less
+     * @param n The length of the array
+     * @return The minimum run length
+     */
+    private static int minRunLength(int n) {
+        int lowBits = 0;
+        while (n >= MIN_MERGE) {
+            lowBits |= (n & 1);
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+
+    /**
+     * Finds the length of the run starting at the given index, reversing
+     * it in place if it is strictly descending
+     * @param array The array being sorted
+     * @param low The index of the first element of the run
+     * @param high The index after the last element that may be in the run
+     * @return The length of the run
+     */
+    private int countRunAndMakeAscending(T[] array, int low, int high) {
+        int runHigh = low + 1;
+
+        if (runHigh == high) {
+            return 1;
+        }
+
+        if (compare(array[runHigh++], array[low]) < 0) {
+            // Strictly descending, so reversing it keeps the sort stable
+            while (runHigh < high && compare(array[runHigh], array[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverseRange(array, low, runHigh);
+        } else {
+            while (runHigh < high && compare(array[runHigh], array[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+
+        return runHigh - low;
+    }
+
+    /**
+     * Reverses a portion of an array
+     * @param array The array containing the portion
+     * @param low The index of the first element
+     * @param high The index after the last element
+     */
+    private void reverseRange(T[] array, int low, int high) {
+        high--;
+        while (low < high) {
+            T temp = array[low];
+            array[low++] = array[high];
+            array[high--] = temp;
+            swapCount++;
+        }
+    }
+
+    /**
+     * Sorts a portion of an array whose first part is already sorted,
+     * inserting each remaining element at the position found by binary search
+     * @param array The array to be sorted
+     * @param low The index of the first element in the portion
+     * @param high The index after the last element in the portion
+     * @param start The index of the first element that is not yet sorted
+     */
+    private void binaryInsertionSort(T[] array, int low, int high, int start) {
+        if (start == low) {
+            start++;
+        }
+
+        for (; start < high; start++) {
+            T pivot = array[start];
+            int left = low;
+            int right = start;
+
+            // Find the position after any equal elements, to keep the sort stable
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (compare(pivot, array[middle]) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+
+            int elementsToMove = start - left;
+            if (elementsToMove > 0) {
+                System.arraycopy(array, left, array, left + 1, elementsToMove);
+                array[left] = pivot;
+                swapCount += elementsToMove + 1;
+            }
+        }
+    }
+
+    /**
+     * Pushes a run onto the pending run stack
+     */
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * Merges runs on the stack until the stack invariants hold again:
+     * each run is longer than the sum of the two runs above it
+     * @param array The array being sorted
+     */
+    private void mergeCollapse(T[] array) {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+
+            if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]) ||
+                (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+
+            mergeAt(array, n);
+        }
+    }
+
+    /**
+     * Merges all remaining runs on the stack into one
+     * @param array The array being sorted
+     */
+    private void mergeForceCollapse(T[] array) {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(array, n);
+        }
+    }
+
+    /**
+     * Merges the two runs at stack positions i and i + 1
+     * @param array The array being sorted
+     * @param i The stack index of the first run
+     */
+    private void mergeAt(T[] array, int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        runLength[i] = length1 + length2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+
+        // Elements of run 1 that are not greater than run 2's first element are already in place
+        int skip = upperBound(array[base2], array, base1, length1);
+        base1 += skip;
+        length1 -= skip;
+        if (length1 == 0) {
+            return;
+        }
+
+        // Elements of run 2 that are not less than run 1's last element are already in place
+        length2 = lowerBound(array[base1 + length1 - 1], array, base2, length2);
+        if (length2 == 0) {
+            return;
+        }
+
+        if (length1 <= length2) {
+            mergeLow(array, base1, length1, base2, length2);
+        } else {
+            mergeHigh(array, base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * Finds the number of elements in a sorted range that are less than or equal to a key
+     */
+    private int upperBound(T key, T[] array, int base, int length) {
+        int left = 0;
+        int right = length;
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+            if (compare(key, array[base + middle]) < 0) {
+                right = middle;
+            } else {
+                left = middle + 1;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Finds the number of elements in a sorted range that are strictly less than a key
+     */
+    private int lowerBound(T key, T[] array, int base, int length) {
+        int left = 0;
+        int right = length;
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+            if (compare(array[base + middle], key) < 0) {
+                left = middle + 1;
+            } else {
+                right = middle;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Merges two adjacent runs from the left, buffering the shorter first run
+     */
+    private void mergeLow(T[] array, int base1, int length1, int base2, int length2) {
+        T[] buffer = ensureCapacity(length1);
+        System.arraycopy(array, base1, buffer, 0, length1);
+        swapCount += length1;
+
+        int bufferIndex = 0;
+        int runIndex = base2;
+        int runEnd = base2 + length2;
+        int dest = base1;
+
+        while (bufferIndex < length1 && runIndex < runEnd) {
+            // Take from run 2 only when strictly smaller, to keep the sort stable
+            if (compare(array[runIndex], buffer[bufferIndex]) < 0) {
+                array[dest++] = array[runIndex++];
+            } else {
+                array[dest++] = buffer[bufferIndex++];
+            }
+            swapCount++;
+        }
+
+        // Any remaining run 2 elements are already in place
+        int leftover = length1 - bufferIndex;
+        System.arraycopy(buffer, bufferIndex, array, dest, leftover);
+        swapCount += leftover;
+    }
+
+    /**
+     * Merges two adjacent runs from the right, buffering the shorter second run
+     */
+    private void mergeHigh(T[] array, int base1, int length1, int base2, int length2) {
+        T[] buffer = ensureCapacity(length2);
+        System.arraycopy(array, base2, buffer, 0, length2);
+        swapCount += length2;
+
+        int runIndex = base1 + length1 - 1;
+        int bufferIndex = length2 - 1;
+        int dest = base2 + length2 - 1;
+
+        while (runIndex >= base1 && bufferIndex >= 0) {
+            // Take from run 1 only when strictly greater, to keep the sort stable
+            if (compare(buffer[bufferIndex], array[runIndex]) < 0) {
+                array[dest--] = array[runIndex--];
+            } else {
+                array[dest--] = buffer[bufferIndex--];
+            }
+            swapCount++;
+        }
+
+        // Any remaining run 1 elements are already in place
+        int leftover = bufferIndex + 1;
+        System.arraycopy(buffer, 0, array, base1, leftover);
+        swapCount += leftover;
+    }
+
+    /**
+     * Makes sure the scratch buffer can hold the given number of elements
+     * @param minCapacity The number of elements needed
+     * @return The scratch buffer
+     */
+    private T[] ensureCapacity(int minCapacity) {
+        if (tmp == null || tmp.length < minCapacity) {
+            // The cast is safe because the new array contains null entries
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            T[] newTmp = (T[])new Comparable[minCapacity];
+            tmp = newTmp;
+        }
+        return tmp;
+    }
+
+    @Override
+    public String getName() {
+        return "Tim Sort";
+    }
+
+    @Override
+    public String getTimeComplexity() {
+        return "O(n log n) worst case, O(n) on presorted input";
+    }
+
+    @Override
+    public String getSpaceComplexity() {
+        return "O(n)";
+    }
+
+    @Override
+    public ComparisonGrowth getComparisonGrowth() {
+        return ComparisonGrowth.LINEARITHMIC;
+    }
+
+    @Override
+    public long getComparisonCount() {
+        return comparisonCount;
+    }
+
+    @Override
+    public long getSwapCount() {
+        return swapCount;
+    }
+
+    @Override
+    public void resetCounters() {
+        comparisonCount = 0;
+        swapCount = 0;
+    }
+}
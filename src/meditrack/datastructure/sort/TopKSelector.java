@@ -0,0 +1,144 @@
+package meditrack.datastructure.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Selects the first k elements of an array in a given order without sorting the whole array
+ * Introselect partitions the array around median-of-three pivots, descending
+ * only into the portion that contains position k, so the k first elements
+ * are found in O(n) expected time. Only those k elements are then sorted,
+ * for O(n + k log k) overall. A selection that partitions too deeply falls
+ * back to sorting the remaining portion, which bounds the worst case at
+ * O(n log n). To take the k largest elements, pass a reversed order.
+ */
+public final class TopKSelector {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Finds the first k elements of an array in the given order
+     * The array is rearranged by the selection.
+     * @param array The array to select from
+     * @param k The number of elements to select
+     * @param order The order in which elements are ranked
+     * @param <T> The type of objects in the array
+     * @return A new array of the first min(k, array.length) elements in sorted order
+     */
+    public static <T> T[] selectFirst(T[] array, int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of elements to select cannot be negative");
+        }
+
+        int count = Math.min(k, array.length);
+        partitionFirst(array, count, order);
+
+        T[] result = Arrays.copyOf(array, count);
+        Arrays.sort(result, order);
+        return result;
+    }
+
+    /**
+     * Rearranges an array so that its first k positions hold the first k
+     * elements in the given order, in no particular order among themselves
+     * @param array The array to rearrange
+     * @param k The number of elements to move to the front
+     * @param order The order in which elements are ranked
+     * @param <T> The type of objects in the array
+     */
+    public static <T> void partitionFirst(T[] array, int k, Comparator<? super T> order) {
+        if (k < 0 || k > array.length) {
+            throw new IllegalArgumentException("Number of elements to select must be between 0 and " + array.length);
+        }
+        if (k == 0 || k == array.length) {
+            return;
+        }
+
+        // Place the element of rank k - 1; everything before it then ranks no later
+        int target = k - 1;
+        int first = 0;
+        int last = array.length - 1;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(array.length));
+
+        while (first < last) {
+            if (last - first + 1 <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, first, last, order);
+                return;
+            }
+            if (depthLimit == 0) {
+                Arrays.sort(array, first, last + 1, order);
+                return;
+            }
+            depthLimit--;
+
+            // Partition into < pivot, == pivot, > pivot
+            T pivot = array[medianOfThree(array, first, (first + last) >>> 1, last, order)];
+            int lessThan = first;
+            int greaterThan = last;
+            int i = first;
+
+            while (i <= greaterThan) {
+                int cmp = order.compare(array[i], pivot);
+                if (cmp < 0) {
+                    swap(array, lessThan++, i++);
+                } else if (cmp > 0) {
+                    swap(array, i, greaterThan--);
+                } else {
+                    i++;
+                }
+            }
+
+            // Continue only in the portion that contains the target position
+            if (target < lessThan) {
+                last = lessThan - 1;
+            } else if (target > greaterThan) {
+                first = greaterThan + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the index of the median of three elements
+     */
+    private static <T> int medianOfThree(T[] array, int i, int j, int k, Comparator<? super T> order) {
+        if (order.compare(array[i], array[j]) < 0) {
+            if (order.compare(array[j], array[k]) < 0) {
+                return j;
+            }
+            return order.compare(array[i], array[k]) < 0 ? k : i;
+        }
+        if (order.compare(array[i], array[k]) < 0) {
+            return i;
+        }
+        return order.compare(array[j], array[k]) < 0 ? k : j;
+    }
+
+    /**
+     * Sorts a small portion of an array with insertion sort
+     */
+    private static <T> void insertionSort(T[] array, int first, int last, Comparator<? super T> order) {
+        for (int i = first + 1; i <= last; i++) {
+            T current = array[i];
+            int j = i - 1;
+
+            while (j >= first && order.compare(array[j], current) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = current;
+        }
+    }
+
+    /**
+     * Swaps two elements in an array
+     */
+    private static <T> void swap(T[] array, int i, int j) {
+        T temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+}
@@ -0,0 +1,126 @@
+package meditrack.datastructure.stack;
+
+import java.util.EmptyStackException;
+import java.util.Objects;
+
+/**
+ * A class of bounded stacks whose entries are stored in a circular array.
+ * When the stack is full, pushing a new entry silently discards the oldest
+ * entry, so the stack never grows beyond its capacity. Optionally, pushing
+ * an entry equal to the current top entry is ignored. The stack is not
+ * synchronized.
+ * @param <T> The type of objects stored in the stack
+ */
+public final class RingBufferStack<T> implements StackInterface<T> {
+    private final T[] stack;        // Circular array of stack entries
+    private int topIndex;           // Index of top entry
+    private int numberOfEntries;
+    private final boolean skipConsecutiveDuplicates;
+    private static final int DEFAULT_CAPACITY = 50;
+    private static final int MAX_CAPACITY = 10000;
+
+    /**
+     * Creates an empty stack with default capacity that keeps duplicate entries.
+     */
+    public RingBufferStack() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Creates an empty stack with a given capacity.
+     * @param capacity The maximum number of entries kept in the stack.
+     * @param skipConsecutiveDuplicates True to ignore pushes of an entry equal to the top entry.
+     */
+    public RingBufferStack(int capacity, boolean skipConsecutiveDuplicates) {
+        checkCapacity(capacity);
+
+        // The cast is safe because the new array contains null entries
+        @SuppressWarnings("unchecked")
+        T[] tempStack = (T[])new Object[capacity];
+        stack = tempStack;
+        topIndex = capacity - 1;
+        numberOfEntries = 0;
+        this.skipConsecutiveDuplicates = skipConsecutiveDuplicates;
+    }
+
+    /**
+     * Throws an exception if the client requests an invalid capacity.
+     */
+    private void checkCapacity(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Stack capacity must be at least 1");
+        if (capacity > MAX_CAPACITY)
+            throw new IllegalStateException(
+                "Attempt to create a stack whose capacity exceeds " +
+                "allowed maximum of " + MAX_CAPACITY);
+    }
+
+    @Override
+    public void push(T newEntry) {
+        if (skipConsecutiveDuplicates && !isEmpty() &&
+            Objects.equals(stack[topIndex], newEntry)) {
+            return;
+        }
+
+        // Advance the top; when full this overwrites the oldest entry
+        topIndex = (topIndex + 1) % stack.length;
+        stack[topIndex] = newEntry;
+
+        if (numberOfEntries < stack.length) {
+            numberOfEntries++;
+        }
+    }
+
+    @Override
+    public T pop() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        } else {
+            T top = stack[topIndex];
+            stack[topIndex] = null; // To help garbage collection
+            topIndex = (topIndex - 1 + stack.length) % stack.length;
+            numberOfEntries--;
+            return top;
+        }
+    }
+
+    @Override
+    public T peek() {
+        if (isEmpty()) {
+            throw new EmptyStackException();
+        } else {
+            return stack[topIndex];
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numberOfEntries == 0;
+    }
+
+    @Override
+    public void clear() {
+        // Remove references to help garbage collection
+        for (int i = 0; i < stack.length; i++) {
+            stack[i] = null;
+        }
+        topIndex = stack.length - 1;
+        numberOfEntries = 0;
+    }
+
+    /**
+     * Gets the current size of the stack.
+     * @return The number of entries currently in the stack.
+     */
+    public int size() {
+        return numberOfEntries;
+    }
+
+    /**
+     * Gets the maximum number of entries the stack keeps.
+     * @return The capacity of the stack.
+     */
+    public int getCapacity() {
+        return stack.length;
+    }
+}
@@ -0,0 +1,51 @@
+package meditrack.datastructure.undo;
+
+/**
+ * A command built from a pair of actions, such as adding an entry to a
+ * collection and removing it again. The actions capture only a reference
+ * to the affected entry, never a copy of the collection.
+ */
+public class ActionCommand implements UndoableCommand {
+    private static final long BASE_SIZE = 96;
+
+    private final String description;
+    private final Runnable undoAction;
+    private final Runnable redoAction;
+
+    /**
+     * Creates a command for an action that has already been performed.
+     * @param description A short description of the action.
+     * @param undoAction Reverts the action.
+     * @param redoAction Performs the action again.
+     */
+    public ActionCommand(String description, Runnable undoAction, Runnable redoAction) {
+        this.description = description;
+        this.undoAction = undoAction;
+        this.redoAction = redoAction;
+    }
+
+    @Override
+    public void undo() {
+        undoAction.run();
+    }
+
+    @Override
+    public void redo() {
+        redoAction.run();
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        return BASE_SIZE + 2L * description.length();
+    }
+
+    @Override
+    public boolean mergeWith(UndoableCommand next, long coalesceWindowMillis) {
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+package meditrack.datastructure.undo;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A command that records a change to a single field of an object.
+ * Only the old and new values of the field are kept, and successive edits
+ * to the same field of the same object are merged into one command.
+ * @param <T> The type of the edited object
+ * @param <V> The type of the edited field
+ */
+public class FieldEditCommand<T, V> implements UndoableCommand {
+    private static final long BASE_SIZE = 64;
+
+    private final T target;
+    private final String fieldName;
+    private final BiConsumer<T, V> setter;
+    private final V oldValue;
+    private V newValue;
+    private long lastEditTime;
+
+    /**
+     * Creates a command for a field edit that has already been applied.
+     * @param target The edited object.
+     * @param fieldName The name of the edited field.
+     * @param setter Sets the field on the object.
+     * @param oldValue The value of the field before the edit.
+     * @param newValue The value of the field after the edit.
+     */
+    public FieldEditCommand(T target, String fieldName, BiConsumer<T, V> setter,
+                            V oldValue, V newValue) {
+        this.target = target;
+        this.fieldName = fieldName;
+        this.setter = setter;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.lastEditTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public void undo() {
+        setter.accept(target, oldValue);
+    }
+
+    @Override
+    public void redo() {
+        setter.accept(target, newValue);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Edit " + fieldName;
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        return BASE_SIZE + estimateValueSize(oldValue) + estimateValueSize(newValue);
+    }
+
+    @Override
+    public boolean mergeWith(UndoableCommand next, long coalesceWindowMillis) {
+        if (!(next instanceof FieldEditCommand)) {
+            return false;
+        }
+
+        FieldEditCommand<?, ?> other = (FieldEditCommand<?, ?>) next;
+
+        if (other.target != target || !other.fieldName.equals(fieldName) ||
+            other.lastEditTime - lastEditTime > coalesceWindowMillis) {
+            return false;
+        }
+
+        // The same object and field, so the value types match
+        @SuppressWarnings("unchecked")
+        V mergedValue = (V) other.newValue;
+        newValue = mergedValue;
+        lastEditTime = other.lastEditTime;
+
+        return true;
+    }
+
+    /**
+     * Tests whether the edit left the field unchanged, e.g. after merging
+     * an edit with one that reverted it.
+     * @return True if the old and new values are equal.
+     */
+    public boolean isNoOp() {
+        return Objects.equals(oldValue, newValue);
+    }
+
+    /**
+     * Estimates the memory retained by a field value.
+     */
+    private static long estimateValueSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        }
+        return 16;
+    }
+}
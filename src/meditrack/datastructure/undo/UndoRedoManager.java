@@ -0,0 +1,228 @@
+package meditrack.datastructure.undo;
+
+import meditrack.datastructure.stack.ArrayStack;
+import meditrack.datastructure.stack.StackInterface;
+
+/**
+ * Undo/redo history built on a pair of stacks.
+ * The history is bounded by a memory budget: when the recorded commands
+ * exceed it, the oldest commands are evicted first. Rapid successive edits
+ * to the same field are coalesced into a single command.
+ */
+public class UndoRedoManager {
+    private static final long DEFAULT_MEMORY_BUDGET = 256 * 1024; // 256 KB
+    private static final int DEFAULT_MAX_COMMANDS = 500;
+    private static final long DEFAULT_COALESCE_WINDOW_MILLIS = 1000;
+    private static final int MAX_COMMANDS_LIMIT = 5000;
+
+    private final StackInterface<UndoableCommand> undoStack;
+    private final StackInterface<UndoableCommand> redoStack;
+    private final long memoryBudget;
+    private final int maxCommands;
+    private final long coalesceWindowMillis;
+
+    private int undoCount;
+    private long usedBytes;
+
+    /**
+     * Creates a manager with the default memory budget, command limit and coalescing window.
+     */
+    public UndoRedoManager() {
+        this(DEFAULT_MEMORY_BUDGET, DEFAULT_MAX_COMMANDS, DEFAULT_COALESCE_WINDOW_MILLIS);
+    }
+
+    /**
+     * Creates a manager with the given limits.
+     * @param memoryBudget The maximum estimated bytes retained by the history.
+     * @param maxCommands The maximum number of commands kept in the history.
+     * @param coalesceWindowMillis The longest gap between edits to the same field that are merged.
+     */
+    public UndoRedoManager(long memoryBudget, int maxCommands, long coalesceWindowMillis) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        if (maxCommands < 1 || maxCommands > MAX_COMMANDS_LIMIT) {
+            throw new IllegalArgumentException(
+                "Command limit must be between 1 and " + MAX_COMMANDS_LIMIT);
+        }
+
+        this.memoryBudget = memoryBudget;
+        this.maxCommands = maxCommands;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.undoStack = new ArrayStack<>();
+        this.redoStack = new ArrayStack<>();
+    }
+
+    /**
+     * Records a command whose change has already been applied.
+     * Recording a new command discards everything that could be redone.
+     * @param command The command to record.
+     */
+    public void record(UndoableCommand command) {
+        clearRedo();
+
+        if (!undoStack.isEmpty()) {
+            UndoableCommand previous = undoStack.peek();
+            long previousSize = previous.getEstimatedSize();
+
+            if (previous.mergeWith(command, coalesceWindowMillis)) {
+                usedBytes += previous.getEstimatedSize() - previousSize;
+
+                // Drop the command entirely if the merged edits cancelled out
+                if (previous instanceof FieldEditCommand &&
+                    ((FieldEditCommand<?, ?>) previous).isNoOp()) {
+                    undoStack.pop();
+                    undoCount--;
+                    usedBytes -= previous.getEstimatedSize();
+                }
+                return;
+            }
+        }
+
+        undoStack.push(command);
+        undoCount++;
+        usedBytes += command.getEstimatedSize();
+
+        if (usedBytes > memoryBudget || undoCount > maxCommands) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Applies a command's change and records it.
+     * @param command The command to apply and record.
+     */
+    public void execute(UndoableCommand command) {
+        command.redo();
+        record(command);
+    }
+
+    /**
+     * Undoes the most recent command, if any.
+     * @return True if a command was undone, or false if there was nothing to undo.
+     */
+    public boolean undo() {
+        if (undoStack.isEmpty()) {
+            return false;
+        }
+
+        UndoableCommand command = undoStack.pop();
+        undoCount--;
+        command.undo();
+        redoStack.push(command);
+
+        return true;
+    }
+
+    /**
+     * Redoes the most recently undone command, if any.
+     * @return True if a command was redone, or false if there was nothing to redo.
+     */
+    public boolean redo() {
+        if (redoStack.isEmpty()) {
+            return false;
+        }
+
+        UndoableCommand command = redoStack.pop();
+        command.redo();
+        undoStack.push(command);
+        undoCount++;
+
+        return true;
+    }
+
+    /**
+     * Tests whether there is a command to undo.
+     * @return True if undo() would undo a command.
+     */
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    /**
+     * Tests whether there is a command to redo.
+     * @return True if redo() would redo a command.
+     */
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * Gets the description of the command that would be undone next.
+     * @return The description, or null if there is nothing to undo.
+     */
+    public String getUndoDescription() {
+        return undoStack.isEmpty() ? null : undoStack.peek().getDescription();
+    }
+
+    /**
+     * Gets the description of the command that would be redone next.
+     * @return The description, or null if there is nothing to redo.
+     */
+    public String getRedoDescription() {
+        return redoStack.isEmpty() ? null : redoStack.peek().getDescription();
+    }
+
+    /**
+     * Gets the estimated memory retained by the undo and redo history.
+     * @return The estimated size in bytes.
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Gets the number of commands that can currently be undone.
+     * @return The number of undoable commands.
+     */
+    public int getUndoCount() {
+        return undoCount;
+    }
+
+    /**
+     * Removes all commands from the history.
+     */
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+        undoCount = 0;
+        usedBytes = 0;
+    }
+
+    /**
+     * Discards all commands that could be redone.
+     */
+    private void clearRedo() {
+        while (!redoStack.isEmpty()) {
+            usedBytes -= redoStack.pop().getEstimatedSize();
+        }
+    }
+
+    /**
+     * Evicts the oldest commands until the history is comfortably within its
+     * limits. Eviction goes down to three quarters of each limit, so the cost
+     * of reaching the bottom of the stack is paid only once every many records.
+     * The most recent command is always kept.
+     */
+    private void evictOldest() {
+        long targetBytes = memoryBudget - memoryBudget / 4;
+        int targetCount = Math.max(1, maxCommands - maxCommands / 4);
+
+        // Move the commands to a temporary stack so the oldest ends up on top
+        StackInterface<UndoableCommand> reversed = new ArrayStack<>(Math.max(1, undoCount));
+        while (!undoStack.isEmpty()) {
+            reversed.push(undoStack.pop());
+        }
+
+        // Drop the oldest commands while over the targets
+        while (undoCount > 1 && (usedBytes > targetBytes || undoCount > targetCount)) {
+            usedBytes -= reversed.pop().getEstimatedSize();
+            undoCount--;
+        }
+
+        // Restore the remaining commands in their original order
+        while (!reversed.isEmpty()) {
+            undoStack.push(reversed.pop());
+        }
+    }
+}
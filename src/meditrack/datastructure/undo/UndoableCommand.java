@@ -0,0 +1,39 @@
+package meditrack.datastructure.undo;
+
+/**
+ * An interface for a reversible edit recorded by the undo/redo manager.
+ * Commands store only the change they made (an inverse delta), never a
+ * copy of the data they changed.
+ */
+public interface UndoableCommand {
+    /**
+     * Reverts the change made by this command.
+     */
+    public void undo();
+
+    /**
+     * Re-applies the change made by this command after it was undone.
+     */
+    public void redo();
+
+    /**
+     * Gets a short description of the change, e.g. for an "Undo ..." label.
+     * @return The description of the change.
+     */
+    public String getDescription();
+
+    /**
+     * Estimates the memory retained by this command.
+     * @return The approximate size of this command in bytes.
+     */
+    public long getEstimatedSize();
+
+    /**
+     * Tries to absorb a command recorded immediately after this one, so that
+     * rapid successive edits can be undone in a single step.
+     * @param next The command recorded after this one.
+     * @param coalesceWindowMillis The longest gap between edits that may be merged.
+     * @return True if next was merged into this command, or false if not.
+     */
+    public boolean mergeWith(UndoableCommand next, long coalesceWindowMillis);
+}
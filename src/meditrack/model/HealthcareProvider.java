@@ -25,14 +25,14 @@ public class HealthcareProvider {
     public static class Visit {
         private LocalDate date;
         private String reason;
-        private double cost;
+        private long costCents;
         private int rating; // 1-5 stars
         private String notes;
         
         public Visit(LocalDate date, String reason, double cost) {
             this.date = date;
             this.reason = reason;
-            this.cost = cost;
+            this.costCents = Money.ofDollars(cost);
             this.rating = 0;
             this.notes = "";
         }
@@ -55,11 +55,19 @@ public class HealthcareProvider {
         }
         
         public double getCost() {
-            return cost;
+            return Money.toDollars(costCents);
         }
         
         public void setCost(double cost) {
-            this.cost = cost;
+            this.costCents = Money.ofDollars(cost);
+        }
+        
+        public long getCostCents() {
+            return costCents;
+        }
+        
+        public void setCostCents(long costCents) {
+            this.costCents = costCents;
         }
         
         public int getRating() {
@@ -80,7 +88,7 @@ public class HealthcareProvider {
         
         @Override
         public String toString() {
-            return String.format("%s - %s - $%.2f", date, reason, cost);
+            return String.format("%s - %s - %s", date, reason, Money.format(costCents));
         }
     }
     
@@ -138,10 +146,18 @@ public class HealthcareProvider {
      * @return The total cost
      */
     public double getTotalCost() {
-        double total = 0;
+        return Money.toDollars(getTotalCostCents());
+    }
+    
+    /**
+     * Calculates the exact total cost of all visits to this provider
+     * @return The total cost in cents
+     */
+    public long getTotalCostCents() {
+        long total = 0;
         
         for (Visit visit : visitHistory) {
-            total += visit.getCost();
+            total = Money.add(total, visit.getCostCents());
         }
         
         return total;
@@ -5,16 +5,17 @@ import java.util.Objects;
 
 /**
  * Represents a medical expense in the MediTrack system
+ * Amounts are stored as whole cents; the dollar getters and setters convert.
  */
 public class MedicalExpense {
     private String id;
     private String description;
-    private double amount;
+    private long amountCents;
     private LocalDate date;
     private ExpenseCategory category;
     private String provider;
     private boolean reimbursed;
-    private double reimbursedAmount;
+    private long reimbursedCents;
     
     /**
      * Enum representing different categories of medical expenses
@@ -49,12 +50,12 @@ public class MedicalExpense {
                          ExpenseCategory category, String provider) {
         this.id = generateId();
         this.description = description;
-        this.amount = amount;
+        this.amountCents = Money.ofDollars(amount);
         this.date = date;
         this.category = category;
         this.provider = provider;
         this.reimbursed = false;
-        this.reimbursedAmount = 0.0;
+        this.reimbursedCents = 0;
     }
     
     /**
@@ -78,11 +79,19 @@ public class MedicalExpense {
     }
     
     public double getAmount() {
-        return amount;
+        return Money.toDollars(amountCents);
     }
     
     public void setAmount(double amount) {
-        this.amount = amount;
+        this.amountCents = Money.ofDollars(amount);
+    }
+    
+    public long getAmountCents() {
+        return amountCents;
+    }
+    
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
     
     public LocalDate getDate() {
@@ -118,12 +127,20 @@ public class MedicalExpense {
     }
     
     public double getReimbursedAmount() {
-        return reimbursedAmount;
+        return Money.toDollars(reimbursedCents);
     }
     
     public void setReimbursedAmount(double reimbursedAmount) {
-        this.reimbursedAmount = reimbursedAmount;
-        if (reimbursedAmount > 0) {
+        setReimbursedCents(Money.ofDollars(reimbursedAmount));
+    }
+    
+    public long getReimbursedCents() {
+        return reimbursedCents;
+    }
+    
+    public void setReimbursedCents(long reimbursedCents) {
+        this.reimbursedCents = reimbursedCents;
+        if (reimbursedCents > 0) {
             this.reimbursed = true;
         } else {
             this.reimbursed = false;
@@ -134,7 +151,14 @@ public class MedicalExpense {
      * Returns the out-of-pocket cost (amount - reimbursed amount)
      */
     public double getOutOfPocketCost() {
-        return amount - reimbursedAmount;
+        return Money.toDollars(getOutOfPocketCents());
+    }
+    
+    /**
+     * Returns the out-of-pocket cost in cents
+     */
+    public long getOutOfPocketCents() {
+        return amountCents - reimbursedCents;
     }
     
     @Override
@@ -152,7 +176,7 @@ public class MedicalExpense {
     
     @Override
     public String toString() {
-        return String.format("%s - $%.2f - %s - %s", 
-                            description, amount, date, category.getDisplayName());
+        return String.format("%s - %s - %s - %s", 
+                            description, Money.format(amountCents), date, category.getDisplayName());
     }
 }
\ No newline at end of file
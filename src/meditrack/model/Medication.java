@@ -15,7 +15,7 @@ public class Medication {
     private LocalDate prescriptionDate;
     private LocalDate refillDate;
     private int refillsRemaining;
-    private double cost;
+    private long costCents;
     private boolean isActive;
     
     /**
@@ -32,7 +32,7 @@ public class Medication {
         this.prescriptionDate = prescriptionDate;
         this.refillDate = prescriptionDate;
         this.refillsRemaining = refillsRemaining;
-        this.cost = cost;
+        this.costCents = Money.ofDollars(cost);
         this.isActive = true;
     }
     
@@ -118,11 +118,19 @@ public class Medication {
     }
     
     public double getCost() {
-        return cost;
+        return Money.toDollars(costCents);
     }
     
     public void setCost(double cost) {
-        this.cost = cost;
+        this.costCents = Money.ofDollars(cost);
+    }
+    
+    public long getCostCents() {
+        return costCents;
+    }
+    
+    public void setCostCents(long costCents) {
+        this.costCents = costCents;
     }
     
     public boolean isActive() {
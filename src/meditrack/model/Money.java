@@ -0,0 +1,116 @@
+package meditrack.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money amounts, stored as a long number of cents
+ * Amounts are passed around as primitive longs rather than objects, so
+ * arithmetic on them allocates nothing, and sums of any number of amounts
+ * are exact instead of drifting as floating-point sums do. The methods here
+ * convert amounts to and from dollars and text, and do arithmetic that
+ * fails on overflow instead of wrapping around.
+ */
+public final class Money {
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    private static final double MAX_DOLLARS = Long.MAX_VALUE / (double) CENTS_PER_DOLLAR;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a dollar amount to cents, rounding to the nearest cent
+     * @param dollars The amount in dollars
+     * @return The amount in cents
+     * @throws IllegalArgumentException If the amount is not finite or too large
+     */
+    public static long ofDollars(double dollars) {
+        if (Double.isNaN(dollars) || Math.abs(dollars) >= MAX_DOLLARS) {
+            throw new IllegalArgumentException("Not a valid money amount: " + dollars);
+        }
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Converts an amount in cents to dollars
+     * @param cents The amount in cents
+     * @return The amount in dollars
+     */
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Parses a dollar amount such as "12.5", "-3.99" or "$1,250.00", rounding half up to the nearest cent
+     * The text is parsed in decimal, so no binary rounding error is introduced.
+     * @param text The text to parse
+     * @return The amount in cents
+     * @throws NumberFormatException If the text is not a valid amount
+     */
+    public static long parse(String text) {
+        String value = text.trim().replace(",", "");
+        boolean negative = value.startsWith("-");
+        if (negative) {
+            value = value.substring(1);
+        }
+        if (value.startsWith("$")) {
+            value = value.substring(1);
+        }
+        if (value.isEmpty() || value.startsWith("-") || value.startsWith("+")) {
+            throw new NumberFormatException("Not a valid money amount: " + text);
+        }
+
+        try {
+            long cents = new BigDecimal(value).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+            return negative ? -cents : cents;
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Money amount out of range: " + text);
+        }
+    }
+
+    /**
+     * Formats an amount as dollars and cents, such as "$12.50" or "-$3.99"
+     * @param cents The amount in cents
+     * @return The formatted amount
+     */
+    public static String format(long cents) {
+        // Split before taking magnitudes, so Long.MIN_VALUE formats correctly too
+        String sign = cents < 0 ? "-" : "";
+        long dollars = Math.abs(cents / CENTS_PER_DOLLAR);
+        long remainder = Math.abs(cents % CENTS_PER_DOLLAR);
+        return sign + "$" + dollars + (remainder < 10 ? ".0" : ".") + remainder;
+    }
+
+    /**
+     * Adds two amounts
+     * @param cents The first amount in cents
+     * @param otherCents The second amount in cents
+     * @return The sum in cents
+     * @throws ArithmeticException If the sum overflows
+     */
+    public static long add(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    /**
+     * Subtracts one amount from another
+     * @param cents The amount in cents
+     * @param otherCents The amount to subtract, in cents
+     * @return The difference in cents
+     * @throws ArithmeticException If the difference overflows
+     */
+    public static long subtract(long cents, long otherCents) {
+        return Math.subtractExact(cents, otherCents);
+    }
+
+    /**
+     * Multiplies an amount by a factor, such as a reimbursement rate, rounding to the nearest cent
+     * @param cents The amount in cents
+     * @param factor The factor
+     * @return The product in cents
+     */
+    public static long multiply(long cents, double factor) {
+        return ofDollars(toDollars(cents) * factor);
+    }
+}